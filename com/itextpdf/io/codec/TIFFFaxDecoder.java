@@ -1157,14 +1157,11 @@ public class TIFFFaxDecoder {
         // Handle bits in first byte
         int shift = bitNum & 0x7;
         if (shift > 0) {
-            int maskVal = 1 << (7 - shift);
-            byte val = buffer[byteNum];
-            while (maskVal > 0 && bitNum < lastBit) {
-                val |= (byte) maskVal;
-                maskVal >>= 1;
-                ++bitNum;
+            int bits = Math.min(8 - shift, numBits);
+            if (bits > 0) {
+                buffer[byteNum] |= (byte) ((0xff >>> shift) & (0xff << (8 - shift - bits)));
+                bitNum += bits;
             }
-            buffer[byteNum] = val;
         }
 
         // Fill in 8 bits at a time
@@ -1175,14 +1172,13 @@ public class TIFFFaxDecoder {
         }
 
         // Fill in remaining bits
-        while (bitNum < lastBit) {
+        if (bitNum < lastBit) {
             byteNum = bitNum >> 3;
             if (recoverFromImageError && !(byteNum < buffer.length)) {
                 // do nothing
             } else {
-                buffer[byteNum] |= (byte) (1 << (7 - (bitNum & 0x7)));
+                buffer[byteNum] |= (byte) (0xff << (8 - (lastBit - bitNum)));
             }
-            ++bitNum;
         }
     }
 
@@ -1219,14 +1219,11 @@ public class TIFFFaxDecompressor {
         // Handle bits in first byte
         int shift = bitNum & 0x7;
         if (shift > 0) {
-            int maskVal = 1 << (7 - shift);
-            byte val = buffer[byteNum];
-            while (maskVal > 0 && bitNum < lastBit) {
-                val |= (byte) maskVal;
-                maskVal >>= 1;
-                ++bitNum;
+            int bits = Math.min(8 - shift, numBits);
+            if (bits > 0) {
+                buffer[byteNum] |= (byte) ((0xff >>> shift) & (0xff << (8 - shift - bits)));
+                bitNum += bits;
             }
-            buffer[byteNum] = val;
         }
 
         // Fill in 8 bits at a time
@@ -1237,10 +1234,9 @@ public class TIFFFaxDecompressor {
         }
 
         // Fill in remaining bits
-        while (bitNum < lastBit) {
+        if (bitNum < lastBit) {
             byteNum = bitNum >> 3;
-            buffer[byteNum] |= (byte) (1 << (7 - (bitNum & 0x7)));
-            ++bitNum;
+            buffer[byteNum] |= (byte) (0xff << (8 - (lastBit - bitNum)));
         }
     }
 
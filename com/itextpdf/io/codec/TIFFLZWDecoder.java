@@ -67,6 +67,12 @@ public class TIFFLZWDecoder {
     int nextData = 0;
     int nextBits = 0;
 
+    // Every string of the table has already been written to the uncompressed data,
+    // so the table only keeps where the string is and how long it is.
+    // This avoids allocating and copying an array for every code.
+    private int[] offsetTable;
+    private int[] lengthTable;
+
     int[] andTable = {
             511,
             1023,
@@ -93,7 +99,15 @@ public class TIFFLZWDecoder {
             throw new IOException(IOException.Tiff50StyleLzwCodesAreNotSupported);
         }
 
-        initializeStringTable();
+        if (offsetTable == null) {
+            offsetTable = new int[4096];
+            lengthTable = new int[4096];
+            for (int i = 0; i < 256; i++) {
+                lengthTable[i] = 1;
+            }
+        }
+        tableIndex = 258;
+        bitsToGet = 9;
 
         this.data = data;
         this.h = h;
@@ -108,33 +122,43 @@ public class TIFFLZWDecoder {
         nextBits = 0;
 
         int code, oldCode = 0;
-        byte[] str;
+        int index, oldIndex = 0;
 
         while (((code = getNextCode()) != 257) &&
                 dstIndex < uncompData.length) {
 
             if (code == 256) {
-                initializeStringTable();
+                tableIndex = 258;
+                bitsToGet = 9;
                 code = getNextCode();
                 if (code == 257) {
                     break;
                 }
-                writeString(stringTable[code]);
+                oldIndex = dstIndex;
+                writeCode(code);
                 oldCode = code;
 
             } else {
+                index = dstIndex;
                 if (code < tableIndex) {
-                    str = stringTable[code];
-                    writeString(str);
-                    addStringToTable(stringTable[oldCode], str[0]);
-                    oldCode = code;
+                    writeCode(code);
+                    // The string of the old code is followed by the first byte of the string just written
+                    addCodeToTable(oldIndex, lengthTable[oldCode] + 1);
                 } else {
-                    str = stringTable[oldCode];
-                    str = composeString(str, str[0]);
-                    writeString(str);
-                    addStringToTable(str);
-                    oldCode = code;
+                    byte firstByte = getFirstByte(oldCode);
+                    writeCode(oldCode);
+                    if (dstIndex < uncompData.length) {
+                        uncompData[dstIndex++] = firstByte;
+                    }
+                    if (tableIndex < 4096) {
+                        code = addCodeToTable(index, lengthTable[oldCode] + 1);
+                    } else {
+                        // The table is full and the encoder did not clear it
+                        code = oldCode;
+                    }
                 }
+                oldCode = code;
+                oldIndex = index;
             }
         }
 
@@ -157,7 +181,11 @@ public class TIFFLZWDecoder {
 
     /**
      * Initialize the string table.
+     *
+     * @deprecated the string table is not used by {@link #decode(byte[], byte[], int)} anymore.
+     * Will be removed in 7.2.
      */
+    @Deprecated
     public void initializeStringTable() {
         stringTable = new byte[4096][];
 
@@ -172,7 +200,11 @@ public class TIFFLZWDecoder {
 
     /**
      * Write out the string just uncompressed.
+     *
+     * @deprecated the string table is not used by {@link #decode(byte[], byte[], int)} anymore.
+     * Will be removed in 7.2.
      */
+    @Deprecated
     public void writeString(byte[] str) {
         // Fix for broken tiff files
         int max = uncompData.length - dstIndex;
@@ -184,7 +216,11 @@ public class TIFFLZWDecoder {
 
     /**
      * Add a new string to the string table.
+     *
+     * @deprecated the string table is not used by {@link #decode(byte[], byte[], int)} anymore.
+     * Will be removed in 7.2.
      */
+    @Deprecated
     public void addStringToTable(byte[] oldString, byte newString) {
         int length = oldString.length;
         byte[] str = new byte[length + 1];
@@ -205,7 +241,11 @@ public class TIFFLZWDecoder {
 
     /**
      * Add a new string to the string table.
+     *
+     * @deprecated the string table is not used by {@link #decode(byte[], byte[], int)} anymore.
+     * Will be removed in 7.2.
      */
+    @Deprecated
     public void addStringToTable(byte[] str) {
 
         // Add this new String to the table
@@ -222,7 +262,11 @@ public class TIFFLZWDecoder {
 
     /**
      * Append <code>newString</code> to the end of <code>oldString</code>.
+     *
+     * @deprecated the string table is not used by {@link #decode(byte[], byte[], int)} anymore.
+     * Will be removed in 7.2.
      */
+    @Deprecated
     public byte[] composeString(byte[] oldString, byte newString) {
         int length = oldString.length;
         byte[] str = new byte[length + 1];
@@ -232,6 +276,48 @@ public class TIFFLZWDecoder {
         return str;
     }
 
+    /**
+     * Write out the string of the code just uncompressed.
+     */
+    private void writeCode(int code) {
+        if (code < 256) {
+            uncompData[dstIndex++] = (byte) code;
+            return;
+        }
+        // Fix for broken tiff files
+        int max = Math.min(lengthTable[code], uncompData.length - dstIndex);
+        System.arraycopy(uncompData, offsetTable[code], uncompData, dstIndex, max);
+        dstIndex += max;
+    }
+
+    private byte getFirstByte(int code) {
+        return code < 256 ? (byte) code : uncompData[offsetTable[code]];
+    }
+
+    /**
+     * Add a new string, written to the uncompressed data at the given offset, to the string table.
+     *
+     * @return the code of the new string
+     */
+    private int addCodeToTable(int offset, int length) {
+        if (tableIndex == 4096) {
+            // The table is full and the encoder did not clear it, so the string cannot be stored
+            return tableIndex;
+        }
+        int code = tableIndex++;
+        offsetTable[code] = offset;
+        lengthTable[code] = length;
+
+        if (tableIndex == 511) {
+            bitsToGet = 10;
+        } else if (tableIndex == 1023) {
+            bitsToGet = 11;
+        } else if (tableIndex == 2047) {
+            bitsToGet = 12;
+        }
+        return code;
+    }
+
     // Returns the next 9, 10, 11 or 12 bits
     public int getNextCode() {
         // Attempt to get the next code. The exception is caught to make
@@ -58,11 +58,13 @@ import com.itextpdf.io.util.ResourceUtil;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class FontCache {
 
@@ -75,7 +77,31 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
-    private static Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    /**
+     * The default maximum number of font programs kept in the cache.
+     */
+    public static final int DEFAULT_MAX_CACHED_FONTS = 256;
+
+    /**
+     * The default maximum total size, in bytes, of the glyph descriptions kept for subsetting each TrueType font.
+     */
+    public static final int DEFAULT_MAX_CACHED_SUBSET_GLYPH_BYTES = 4 * 1024 * 1024;
+
+    private static volatile int maxCachedFonts = DEFAULT_MAX_CACHED_FONTS;
+    private static volatile int maxCachedSubsetGlyphBytes = DEFAULT_MAX_CACHED_SUBSET_GLYPH_BYTES;
+
+    private static final AtomicLong hitsCount = new AtomicLong();
+    private static final AtomicLong missesCount = new AtomicLong();
+
+    /**
+     * Font programs in access order, the least recently used one is evicted first. Guarded by itself.
+     */
+    private static final Map<FontCacheKey, FontProgram> fontCache = new LinkedHashMap<FontCacheKey, FontProgram>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<FontCacheKey, FontProgram> eldest) {
+            return size() > maxCachedFonts;
+        }
+    };
 
     static {
         try {
@@ -149,11 +175,20 @@ public class FontCache {
     }
 
     public static FontProgram getFont(String fontName) {
-        return fontCache.get(FontCacheKey.create(fontName));
+        return getFont(FontCacheKey.create(fontName));
     }
 
     static FontProgram getFont(FontCacheKey key) {
-        return fontCache.get(key);
+        FontProgram font;
+        synchronized (fontCache) {
+            font = fontCache.get(key);
+        }
+        if (font != null) {
+            hitsCount.incrementAndGet();
+        } else {
+            missesCount.incrementAndGet();
+        }
+        return font;
     }
 
     public static FontProgram saveFont(FontProgram font, String fontName) {
@@ -161,12 +196,75 @@ public class FontCache {
     }
 
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
-        if (fontFound != null) {
-            return fontFound;
+        synchronized (fontCache) {
+            FontProgram fontFound = fontCache.get(key);
+            if (fontFound != null) {
+                return fontFound;
+            }
+            fontCache.put(key, font);
+            return font;
         }
-        fontCache.put(key, font);
-        return font;
+    }
+
+    /**
+     * Sets the maximum number of font programs kept in the cache. When the limit is exceeded,
+     * the least recently used font program is evicted and will be parsed again on the next request.
+     *
+     * @param maxFonts the maximum number of cached font programs, must be positive
+     */
+    public static void setMaxCachedFonts(int maxFonts) {
+        if (maxFonts <= 0) {
+            throw new IllegalArgumentException("maxFonts");
+        }
+        synchronized (fontCache) {
+            maxCachedFonts = maxFonts;
+            Iterator<FontCacheKey> eldest = fontCache.keySet().iterator();
+            while (fontCache.size() > maxFonts) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    public static int getMaxCachedFonts() {
+        return maxCachedFonts;
+    }
+
+    /**
+     * Sets the maximum total size of the glyph descriptions which each cached TrueType font program keeps
+     * to build subsets without reading the font file again. Reports embedding subsets of the same font
+     * in many documents mostly take the glyphs from this cache. The limit applies to the glyphs added
+     * after the call.
+     *
+     * @param maxBytes the maximum size in bytes, 0 disables glyph caching
+     */
+    public static void setMaxCachedSubsetGlyphBytes(int maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes");
+        }
+        maxCachedSubsetGlyphBytes = maxBytes;
+    }
+
+    public static int getMaxCachedSubsetGlyphBytes() {
+        return maxCachedSubsetGlyphBytes;
+    }
+
+    /**
+     * Gets the number of font program lookups which found the font program in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitsCount() {
+        return hitsCount.get();
+    }
+
+    /**
+     * Gets the number of font program lookups which did not find the font program in the cache.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissesCount() {
+        return missesCount.get();
     }
 
     private static void loadRegistry() throws java.io.IOException {
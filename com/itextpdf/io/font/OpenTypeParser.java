@@ -222,6 +222,12 @@ class OpenTypeParser implements Serializable, Closeable {
      */
     protected Map<String, int[]> tables;
 
+    /**
+     * The tables and glyph descriptions shared between all the subsets of the font, lazily read on first use.
+     * The data is not serialized, it is read again after deserialization when the next subset is built.
+     */
+    private transient volatile TrueTypeFontSubsetData subsetData;
+
     public OpenTypeParser(byte[] ttf) throws java.io.IOException {
         raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(ttf));
         initializeSfntTables();
@@ -328,7 +334,11 @@ class OpenTypeParser implements Serializable, Closeable {
         return cff;
     }
 
-    public byte[] getFullFont() throws java.io.IOException {
+    // The views created by raf.createView() share the source of the font data, which is not safe
+    // for concurrent reading, while font programs are shared between documents by FontCache.
+    // So the methods below, which may be called when the font is embedded into any document, are synchronized.
+
+    public synchronized byte[] getFullFont() throws java.io.IOException {
         RandomAccessFileOrArray rf2 = null;
         try {
             rf2 = raf.createView();
@@ -352,7 +362,7 @@ class OpenTypeParser implements Serializable, Closeable {
      *
      * @return a byte array
      */
-    public byte[] readCffFont() throws java.io.IOException {
+    public synchronized byte[] readCffFont() throws java.io.IOException {
         if (!isCff()) {
             return null;
         }
@@ -375,10 +385,50 @@ class OpenTypeParser implements Serializable, Closeable {
 
     public byte[] getSubset(Set<Integer> glyphs, boolean subset) throws java.io.IOException {
         TrueTypeFontSubset sb = new TrueTypeFontSubset(fileName,
-                raf.createView(), glyphs, directoryOffset, true, !subset);
+                raf.createView(), glyphs, directoryOffset, true, !subset, getSubsetData());
         return sb.process();
     }
 
+    /**
+     * Gets the number of glyph descriptions which were taken from the subset cache
+     * instead of being read from the font file.
+     *
+     * @return the number of glyph cache hits, 0 if no subset has been built yet
+     */
+    public long getSubsetGlyphCacheHitsCount() {
+        TrueTypeFontSubsetData data = subsetData;
+        return data != null ? data.getHitsCount() : 0;
+    }
+
+    /**
+     * Gets the number of glyph descriptions which were read from the font file while building subsets.
+     *
+     * @return the number of glyph cache misses, 0 if no subset has been built yet
+     */
+    public long getSubsetGlyphCacheMissesCount() {
+        TrueTypeFontSubsetData data = subsetData;
+        return data != null ? data.getMissesCount() : 0;
+    }
+
+    private TrueTypeFontSubsetData getSubsetData() throws java.io.IOException {
+        TrueTypeFontSubsetData data = subsetData;
+        if (data == null) {
+            synchronized (this) {
+                data = subsetData;
+                if (data == null) {
+                    RandomAccessFileOrArray rf = raf.createView();
+                    try {
+                        data = TrueTypeFontSubsetData.read(fileName, rf, directoryOffset, this);
+                    } finally {
+                        rf.close();
+                    }
+                    subsetData = data;
+                }
+            }
+        }
+        return data;
+    }
+
     @Override
     public void close() throws java.io.IOException {
         if (raf != null) {
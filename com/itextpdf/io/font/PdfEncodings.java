@@ -48,8 +48,8 @@ import com.itextpdf.io.util.EncodingUtil;
 import com.itextpdf.io.util.IntHashtable;
 
 import java.io.UnsupportedEncodingException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PdfEncodings {
 
@@ -146,7 +146,8 @@ public class PdfEncodings {
 
     private static final IntHashtable pdfEncoding = new IntHashtable();
 
-    private static final Map<String, IExtraEncoding> extraEncodings = new HashMap<>();
+    // may be read by several threads while a new encoding is added, see #addExtraEncoding
+    private static final Map<String, IExtraEncoding> extraEncodings = new ConcurrentHashMap<>();
 
     static {
         for (int k = 128; k < 161; ++k) {
@@ -338,9 +339,7 @@ public class PdfEncodings {
      */
     @SuppressWarnings("unchecked")
     public static void addExtraEncoding(String name, IExtraEncoding enc) {
-        synchronized (extraEncodings) {
-            extraEncodings.put(name.toLowerCase(), enc);
-        }
+        extraEncodings.put(name.toLowerCase(), enc);
     }
 
     private static class WingdingsConversion implements IExtraEncoding {
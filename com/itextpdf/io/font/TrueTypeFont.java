@@ -152,7 +152,8 @@ public class TrueTypeFont extends FontProgram {
         }
     }
 
-    public byte[] getFontStreamBytes() {
+    // synchronized, because font programs are shared between documents by FontCache
+    public synchronized byte[] getFontStreamBytes() {
         if (fontStreamBytes != null)
             return fontStreamBytes;
         try {
@@ -212,6 +213,25 @@ public class TrueTypeFont extends FontProgram {
         }
     }
 
+    /**
+     * Gets the number of glyph descriptions which were reused from previously built subsets of this font.
+     * Font programs are shared through {@link FontCache}, so the subsets may belong to different documents.
+     *
+     * @return the number of subset glyph cache hits
+     */
+    public long getSubsetGlyphCacheHitsCount() {
+        return fontParser.getSubsetGlyphCacheHitsCount();
+    }
+
+    /**
+     * Gets the number of glyph descriptions which had to be read from the font file while building subsets.
+     *
+     * @return the number of subset glyph cache misses
+     */
+    public long getSubsetGlyphCacheMissesCount() {
+        return fontParser.getSubsetGlyphCacheMissesCount();
+    }
+
     protected void readGdefTable() throws java.io.IOException {
         int[] gdef = fontParser.tables.get("GDEF");
         if (gdef != null) {
@@ -45,6 +45,7 @@ package com.itextpdf.io.font;
 
 import com.itextpdf.io.IOException;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
+import java.io.EOFException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -106,6 +107,10 @@ class TrueTypeFontSubset {
     protected byte[] outFont;
     protected int fontPtr;
     protected int directoryOffset;
+    /**
+     * The tables and glyph descriptions shared between the subsets of the font, may be {@code null}.
+     */
+    protected TrueTypeFontSubsetData subsetData;
 
     /**
      * Creates a new TrueTypeFontSubSet
@@ -125,6 +130,22 @@ class TrueTypeFontSubset {
         glyphsInList = new ArrayList<>(glyphsUsed);
     }
 
+    /**
+     * Creates a new TrueTypeFontSubSet which takes the table directory, the loca table and
+     * the glyph descriptions from the data shared between the subsets of the font.
+     *
+     * @param directoryOffset The offset from the start of the file to the table directory
+     * @param fileName        the file name of the font
+     * @param glyphsUsed      the glyphs used
+     * @param includeCmap     {@code true} if the table cmap is to be included in the generated font
+     * @param subsetData      the tables and glyph descriptions shared between the subsets of the font
+     */
+    TrueTypeFontSubset(String fileName, RandomAccessFileOrArray rf, Set<Integer> glyphsUsed, int directoryOffset, boolean includeCmap, boolean includeExtras,
+                       TrueTypeFontSubsetData subsetData) {
+        this(fileName, rf, glyphsUsed, directoryOffset, includeCmap, includeExtras);
+        this.subsetData = subsetData;
+    }
+
     /**
      * Does the actual work of subsetting the font.
      *
@@ -134,8 +155,14 @@ class TrueTypeFontSubset {
      */
     byte[] process() throws java.io.IOException {
         try {
-            createTableDirectory();
-            readLoca();
+            if (subsetData != null) {
+                tableDirectory = subsetData.getTableDirectory();
+                locaShortTable = subsetData.isLocaShortTable();
+                locaTable = subsetData.getLocaTable();
+            } else {
+                createTableDirectory();
+                readLoca();
+            }
             flatGlyphs();
             createNewGlyphTables();
             locaToBytes();
@@ -225,8 +252,12 @@ class TrueTypeFontSubset {
                     newLocaTableOut = null;
                     break;
                 default:
-                    rf.seek(tableLocation[TABLE_OFFSET]);
-                    rf.readFully(outFont, fontPtr, tableLocation[TABLE_LENGTH]);
+                    if (subsetData != null) {
+                        System.arraycopy(subsetData.getTable(name, rf), 0, outFont, fontPtr, tableLocation[TABLE_LENGTH]);
+                    } else {
+                        rf.seek(tableLocation[TABLE_OFFSET]);
+                        rf.readFully(outFont, fontPtr, tableLocation[TABLE_LENGTH]);
+                    }
                     fontPtr += tableLocation[TABLE_LENGTH] + 3 & ~3;
                     break;
             }
@@ -303,8 +334,12 @@ class TrueTypeFontSubset {
                 int start = locaTable[k];
                 int len = locaTable[k + 1] - start;
                 if (len > 0) {
-                    rf.seek(tableGlyphOffset + start);
-                    rf.readFully(newGlyfTable, glyfPtr, len);
+                    if (subsetData != null) {
+                        System.arraycopy(subsetData.getGlyph(k, rf), 0, newGlyfTable, glyfPtr, len);
+                    } else {
+                        rf.seek(tableGlyphOffset + start);
+                        rf.readFully(newGlyfTable, glyfPtr, len);
+                    }
                     glyfPtr += len;
                 }
             }
@@ -350,6 +385,10 @@ class TrueTypeFontSubset {
         if (start == locaTable[glyph + 1]) {// no contour
             return;
         }
+        if (subsetData != null) {
+            checkGlyphComposite(subsetData.getGlyph(glyph, rf));
+            return;
+        }
         rf.seek(tableGlyphOffset + start);
         int numContours = rf.readShort();
         if (numContours >= 0) {
@@ -384,6 +423,52 @@ class TrueTypeFontSubset {
         }
     }
 
+    /**
+     * Same as {@link #checkGlyphComposite(int)}, but reads the glyph description from a byte array.
+     *
+     * @param glyphBytes the description of the glyph from the glyf table
+     * @throws java.io.IOException if the description of a composite glyph ends before its last component
+     */
+    private void checkGlyphComposite(byte[] glyphBytes) throws java.io.IOException {
+        if (glyphBytes.length < 2) {
+            return;
+        }
+        int numContours = (short) ((glyphBytes[0] & 0xff) << 8 | glyphBytes[1] & 0xff);
+        if (numContours >= 0) {
+            return;
+        }
+        int ptr = 10;
+        for (; ; ) {
+            // the same exception is thrown as when the description is read from the font file
+            if (ptr + 4 > glyphBytes.length) {
+                throw new EOFException();
+            }
+            int flags = (glyphBytes[ptr] & 0xff) << 8 | glyphBytes[ptr + 1] & 0xff;
+            int cGlyph = (glyphBytes[ptr + 2] & 0xff) << 8 | glyphBytes[ptr + 3] & 0xff;
+            ptr += 4;
+            if (!glyphsUsed.contains(cGlyph)) {
+                glyphsUsed.add(cGlyph);
+                glyphsInList.add(cGlyph);
+            }
+            if ((flags & MORE_COMPONENTS) == 0) {
+                return;
+            }
+            if ((flags & ARG_1_AND_2_ARE_WORDS) != 0) {
+                ptr += 4;
+            } else {
+                ptr += 2;
+            }
+            if ((flags & WE_HAVE_A_SCALE) != 0) {
+                ptr += 2;
+            } else if ((flags & WE_HAVE_AN_X_AND_Y_SCALE) != 0) {
+                ptr += 4;
+            }
+            if ((flags & WE_HAVE_A_TWO_BY_TWO) != 0) {
+                ptr += 8;
+            }
+        }
+    }
+
     /**
      * Reads a {@code String} from the font file as bytes using the Cp1252 encoding.
      *
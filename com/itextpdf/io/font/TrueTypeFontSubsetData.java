@@ -0,0 +1,192 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.IOException;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The parts of a TrueType font which are the same for every subset built from it: the table directory,
+ * the decoded loca table, the tables which are copied to the subset as is, and the glyph descriptions.
+ * <p>
+ * The instance is read once per {@link OpenTypeParser} and, as font programs are cached in {@link FontCache},
+ * is shared by all the documents which embed the font. Glyph descriptions are kept in a least recently used
+ * cache bounded by {@link FontCache#getMaxCachedSubsetGlyphBytes()}.
+ * All the methods are thread-safe. The font data is read under the lock of the font parser,
+ * because the views of the font data created by the parser share the same source.
+ */
+final class TrueTypeFontSubsetData {
+
+    private static final byte[] EMPTY_GLYPH = new byte[0];
+
+    private final Map<String, int[]> tableDirectory;
+    private final boolean locaShortTable;
+    private final int[] locaTable;
+    private final int tableGlyphOffset;
+    private final Object sourceLock;
+
+    private final Map<String, byte[]> tables = new HashMap<>();
+    private final LinkedHashMap<Integer, byte[]> glyphs = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedGlyphBytes;
+    private long hitsCount;
+    private long missesCount;
+
+    private TrueTypeFontSubsetData(Map<String, int[]> tableDirectory, boolean locaShortTable, int[] locaTable, int tableGlyphOffset,
+                                   Object sourceLock) {
+        this.tableDirectory = Collections.unmodifiableMap(tableDirectory);
+        this.locaShortTable = locaShortTable;
+        this.locaTable = locaTable;
+        this.tableGlyphOffset = tableGlyphOffset;
+        this.sourceLock = sourceLock;
+    }
+
+    /**
+     * Reads the table directory and the loca table of the font.
+     *
+     * @param fileName        the file name of the font, used in error messages
+     * @param rf              the font data
+     * @param directoryOffset the offset from the start of the file to the table directory
+     * @param sourceLock      the lock which guards the reading of the font data
+     * @return the subset data of the font
+     * @throws java.io.IOException on error
+     */
+    static TrueTypeFontSubsetData read(String fileName, RandomAccessFileOrArray rf, int directoryOffset,
+                                       Object sourceLock) throws java.io.IOException {
+        TrueTypeFontSubset reader = new TrueTypeFontSubset(fileName, rf, Collections.<Integer>emptySet(), directoryOffset, true, true);
+        reader.createTableDirectory();
+        reader.readLoca();
+        int[] glyfLocation = reader.tableDirectory.get("glyf");
+        if (glyfLocation == null) {
+            throw new IOException(IOException.TableDoesNotExistsIn).setMessageParams("glyf", fileName);
+        }
+        return new TrueTypeFontSubsetData(reader.tableDirectory, reader.locaShortTable, reader.locaTable,
+                glyfLocation[TrueTypeFontSubset.TABLE_OFFSET], sourceLock);
+    }
+
+    Map<String, int[]> getTableDirectory() {
+        return tableDirectory;
+    }
+
+    boolean isLocaShortTable() {
+        return locaShortTable;
+    }
+
+    int[] getLocaTable() {
+        return locaTable;
+    }
+
+    /**
+     * Gets the content of a table which is copied to the subset unchanged.
+     *
+     * @param name the table tag
+     * @param rf   the font data, used if the table has not been read yet
+     * @return the table bytes, not padded
+     * @throws java.io.IOException on error
+     */
+    synchronized byte[] getTable(String name, RandomAccessFileOrArray rf) throws java.io.IOException {
+        byte[] table = tables.get(name);
+        if (table == null) {
+            int[] tableLocation = tableDirectory.get(name);
+            table = new byte[tableLocation[TrueTypeFontSubset.TABLE_LENGTH]];
+            synchronized (sourceLock) {
+                rf.seek(tableLocation[TrueTypeFontSubset.TABLE_OFFSET]);
+                rf.readFully(table);
+            }
+            tables.put(name, table);
+        }
+        return table;
+    }
+
+    /**
+     * Gets the description of a glyph from the glyf table.
+     *
+     * @param glyph the glyph index
+     * @param rf    the font data, used if the glyph is not in the cache
+     * @return the glyph description, an empty array for a glyph without contours
+     * @throws java.io.IOException on error
+     */
+    synchronized byte[] getGlyph(int glyph, RandomAccessFileOrArray rf) throws java.io.IOException {
+        int start = locaTable[glyph];
+        int length = locaTable[glyph + 1] - start;
+        if (length <= 0) {
+            return EMPTY_GLYPH;
+        }
+        byte[] glyphBytes = glyphs.get(glyph);
+        if (glyphBytes != null) {
+            ++hitsCount;
+            return glyphBytes;
+        }
+        ++missesCount;
+        glyphBytes = new byte[length];
+        synchronized (sourceLock) {
+            rf.seek(tableGlyphOffset + start);
+            rf.readFully(glyphBytes);
+        }
+        long maxCachedBytes = FontCache.getMaxCachedSubsetGlyphBytes();
+        if (length <= maxCachedBytes) {
+            glyphs.put(glyph, glyphBytes);
+            cachedGlyphBytes += length;
+            Iterator<byte[]> eldest = glyphs.values().iterator();
+            while (cachedGlyphBytes > maxCachedBytes) {
+                cachedGlyphBytes -= eldest.next().length;
+                eldest.remove();
+            }
+        }
+        return glyphBytes;
+    }
+
+    synchronized long getHitsCount() {
+        return hitsCount;
+    }
+
+    synchronized long getMissesCount() {
+        return missesCount;
+    }
+}
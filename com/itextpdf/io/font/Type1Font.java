@@ -181,7 +181,8 @@ public class Type1Font extends FontProgram {
         }
     }
 
-    public byte[] getFontStreamBytes() {
+    // synchronized, because font programs are shared between documents by FontCache
+    public synchronized byte[] getFontStreamBytes() {
         if (fontParser.isBuiltInFont())
             return null;
         if (fontStreamBytes != null)
@@ -235,7 +236,7 @@ public class Type1Font extends FontProgram {
         }
     }
 
-    public int[] getFontStreamLengths() {
+    public synchronized int[] getFontStreamLengths() {
         return fontStreamLengths;
     }
 
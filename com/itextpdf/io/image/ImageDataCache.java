@@ -0,0 +1,308 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.image;
+
+import java.io.File;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cache of parsed {@link ImageData}, used by {@link ImageDataFactory} when an image is created with
+ * the <VAR>cached</VAR> flag. The images read from bytes are identified by the SHA-256 digest of the bytes,
+ * the images read from a URL by the URL and the modification time of the resource.
+ * <p>
+ * The cache is bounded by the number of images and by their total size, the least recently used image
+ * is evicted first. The cache can be used from several threads concurrently.
+ */
+public final class ImageDataCache {
+
+    /**
+     * The default maximum number of images kept in the cache.
+     */
+    public static final int DEFAULT_MAX_CACHED_IMAGES = 64;
+
+    /**
+     * The default maximum total size, in bytes, of the images kept in the cache.
+     */
+    public static final long DEFAULT_MAX_CACHED_BYTES = 32 * 1024 * 1024;
+
+    private static int maxCachedImages = DEFAULT_MAX_CACHED_IMAGES;
+    private static long maxCachedBytes = DEFAULT_MAX_CACHED_BYTES;
+    private static long cachedBytes;
+
+    private static final AtomicLong hitsCount = new AtomicLong();
+    private static final AtomicLong missesCount = new AtomicLong();
+    private static final AtomicLong savedBytes = new AtomicLong();
+
+    /**
+     * Images in access order, the least recently used one is evicted first. Guarded by itself.
+     */
+    private static final LinkedHashMap<Key, Entry> imageCache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private ImageDataCache() {
+    }
+
+    /**
+     * Sets the maximum number of images kept in the cache. When the limit is exceeded,
+     * the least recently used image is evicted and will be parsed again on the next request.
+     *
+     * @param maxImages the maximum number of cached images, must be positive
+     */
+    public static void setMaxCachedImages(int maxImages) {
+        if (maxImages <= 0) {
+            throw new IllegalArgumentException("maxImages");
+        }
+        synchronized (imageCache) {
+            maxCachedImages = maxImages;
+            evict();
+        }
+    }
+
+    public static int getMaxCachedImages() {
+        synchronized (imageCache) {
+            return maxCachedImages;
+        }
+    }
+
+    /**
+     * Sets the maximum total size of the images kept in the cache. The size of an image is the size
+     * of its data, e.g. of the JPEG bytes or of the compressed PNG pixels. An image larger than the limit
+     * is not cached at all.
+     *
+     * @param maxBytes the maximum size in bytes, must not be negative
+     */
+    public static void setMaxCachedBytes(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes");
+        }
+        synchronized (imageCache) {
+            maxCachedBytes = maxBytes;
+            evict();
+        }
+    }
+
+    public static long getMaxCachedBytes() {
+        synchronized (imageCache) {
+            return maxCachedBytes;
+        }
+    }
+
+    /**
+     * Gets the number of cached image requests which found the image in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitsCount() {
+        return hitsCount.get();
+    }
+
+    /**
+     * Gets the number of cached image requests which had to parse the image.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissesCount() {
+        return missesCount.get();
+    }
+
+    /**
+     * Gets the total size of the image data which was taken from the cache instead of being read and parsed again.
+     *
+     * @return the size in bytes
+     */
+    public static long getSavedBytes() {
+        return savedBytes.get();
+    }
+
+    /**
+     * Removes all the images from the cache. The statistics are not reset.
+     */
+    public static void clear() {
+        synchronized (imageCache) {
+            imageCache.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    static ImageData getImage(Key key) {
+        Entry entry;
+        synchronized (imageCache) {
+            entry = imageCache.get(key);
+        }
+        if (entry != null) {
+            hitsCount.incrementAndGet();
+            savedBytes.addAndGet(entry.size);
+            return entry.image;
+        }
+        missesCount.incrementAndGet();
+        return null;
+    }
+
+    static ImageData saveImage(Key key, ImageData image) {
+        long size = getSize(image);
+        synchronized (imageCache) {
+            Entry found = imageCache.get(key);
+            if (found != null) {
+                return found.image;
+            }
+            if (size <= maxCachedBytes) {
+                imageCache.put(key, new Entry(image, size));
+                cachedBytes += size;
+                evict();
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Creates the key of the image read from the bytes.
+     */
+    static Key createKey(byte[] bytes, boolean recoverImage) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+        return new Key(null, bytes.length, digest.digest(bytes), recoverImage);
+    }
+
+    /**
+     * Creates the key of the image read from the URL, or {@code null} if the modification time
+     * of the resource is unknown and the image therefore can't be cached.
+     */
+    static Key createKey(URL url, boolean recoverImage) {
+        long lastModified;
+        try {
+            if ("file".equals(url.getProtocol())) {
+                lastModified = new File(url.toURI()).lastModified();
+            } else {
+                URLConnection connection = url.openConnection();
+                try {
+                    lastModified = connection.getLastModified();
+                } finally {
+                    if (connection instanceof HttpURLConnection) {
+                        ((HttpURLConnection) connection).disconnect();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        if (lastModified == 0) {
+            return null;
+        }
+        return new Key(url.toExternalForm(), lastModified, null, recoverImage);
+    }
+
+    private static long getSize(ImageData image) {
+        long size = image.getData() != null ? image.getData().length : 0;
+        if (image.getImageMask() != null && image.getImageMask().getData() != null) {
+            size += image.getImageMask().getData().length;
+        }
+        return size;
+    }
+
+    private static void evict() {
+        Iterator<Entry> eldest = imageCache.values().iterator();
+        while (imageCache.size() > maxCachedImages || cachedBytes > maxCachedBytes) {
+            cachedBytes -= eldest.next().size;
+            eldest.remove();
+        }
+    }
+
+    static final class Key {
+        private final String url;
+        private final long lengthOrModificationTime;
+        private final byte[] digest;
+        private final boolean recoverImage;
+        private final int hash;
+
+        Key(String url, long lengthOrModificationTime, byte[] digest, boolean recoverImage) {
+            this.url = url;
+            this.lengthOrModificationTime = lengthOrModificationTime;
+            this.digest = digest;
+            this.recoverImage = recoverImage;
+            int h = url != null ? url.hashCode() : Arrays.hashCode(digest);
+            h = 31 * h + (int) (lengthOrModificationTime ^ (lengthOrModificationTime >>> 32));
+            this.hash = 31 * h + (recoverImage ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key that = (Key) o;
+
+            return hash == that.hash && lengthOrModificationTime == that.lengthOrModificationTime
+                    && recoverImage == that.recoverImage
+                    && (url != null ? url.equals(that.url) : that.url == null)
+                    && Arrays.equals(digest, that.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        final ImageData image;
+        final long size;
+
+        Entry(ImageData image, long size) {
+            this.image = image;
+            this.size = size;
+        }
+    }
+}
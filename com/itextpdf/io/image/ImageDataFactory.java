@@ -91,6 +91,28 @@ public final class ImageDataFactory {
         return create(bytes, false);
     }
 
+    /**
+     * Create an ImageData instance representing the image from the image bytes.
+     * If <VAR>cached</VAR> is {@code true}, images with the same bytes are parsed only once and
+     * the same ImageData instance is returned for them, see {@link ImageDataCache}.
+     * A cached instance is shared and shall not be modified.
+     * @param bytes byte representation of the image.
+     * @param recoverImage whether to recover from a image error (for TIFF-images)
+     * @param cached whether to take the image from the cache and to cache it after it has been parsed
+     * @return The created ImageData object.
+     */
+    public static ImageData create(byte[] bytes, boolean recoverImage, boolean cached) {
+        ImageDataCache.Key key = cached ? ImageDataCache.createKey(bytes, recoverImage) : null;
+        if (key == null) {
+            return create(bytes, recoverImage);
+        }
+        ImageData image = ImageDataCache.getImage(key);
+        if (image == null) {
+            image = ImageDataCache.saveImage(key, create(bytes, recoverImage));
+        }
+        return image;
+    }
+
     /**
      * Create an ImageData instance representing the image from the file located at the specified url.
      * @param url location of the image
@@ -110,6 +132,29 @@ public final class ImageDataFactory {
         return create(url, false);
     }
 
+    /**
+     * Create an ImageData instance representing the image from the file located at the specified url.
+     * If <VAR>cached</VAR> is {@code true}, the image is parsed only once as long as the resource is not modified,
+     * and the same ImageData instance is returned for it, see {@link ImageDataCache}.
+     * Resources which modification time is unknown are not cached.
+     * A cached instance is shared and shall not be modified.
+     * @param url location of the image
+     * @param recoverImage whether to recover from a image error (for TIFF-images)
+     * @param cached whether to take the image from the cache and to cache it after it has been parsed
+     * @return The created ImageData object.
+     */
+    public static ImageData create(URL url, boolean recoverImage, boolean cached) {
+        ImageDataCache.Key key = cached ? ImageDataCache.createKey(url, recoverImage) : null;
+        if (key == null) {
+            return create(url, recoverImage);
+        }
+        ImageData image = ImageDataCache.getImage(key);
+        if (image == null) {
+            image = ImageDataCache.saveImage(key, create(url, recoverImage));
+        }
+        return image;
+    }
+
     /**
      * Create an ImageData instance representing the image from the specified file.
      * @param filename filename of the file containing the image
@@ -131,6 +176,21 @@ public final class ImageDataFactory {
         return create(filename, false);
     }
 
+    /**
+     * Create an ImageData instance representing the image from the specified file.
+     * If <VAR>cached</VAR> is {@code true}, the image is parsed only once as long as the file is not modified,
+     * and the same ImageData instance is returned for it, see {@link ImageDataCache}.
+     * A cached instance is shared and shall not be modified.
+     * @param filename filename of the file containing the image
+     * @param recoverImage whether to recover from a image error (for TIFF-images)
+     * @param cached whether to take the image from the cache and to cache it after it has been parsed
+     * @return The created ImageData object.
+     * @throws MalformedURLException
+     */
+    public static ImageData create(String filename, boolean recoverImage, boolean cached) throws MalformedURLException {
+        return create(UrlUtil.toURL(filename), recoverImage, cached);
+    }
+
     /**
      * Create an ImageData instance from the passed parameters.
      *
@@ -490,6 +550,22 @@ public final class ImageDataFactory {
         throw new IllegalArgumentException("TIFF image expected.");
     }
 
+    /**
+     * Creates a downsampled copy of an image, so that it is not larger than the given size.
+     * The image is decoded with {@link javax.imageio.ImageIO}, scaled down keeping its aspect ratio
+     * and compressed as JPEG. Images with transparency are not downsampled, as JPEG cannot keep it.
+     *
+     * @param bytes     the encoded image, for instance a JPEG or PNG file
+     * @param maxWidth  the maximum width of the downsampled image, in pixels
+     * @param maxHeight the maximum height of the downsampled image, in pixels
+     * @param quality   the JPEG compression quality, from 0 to 1
+     * @return the JPEG image data of the downsampled image, or {@code null} if the image is not larger
+     * than the given size, has transparency or its format is not supported by {@link javax.imageio.ImageIO}
+     */
+    public static ImageData createDownsampled(byte[] bytes, int maxWidth, int maxHeight, float quality) {
+        return ImageDownsamplingHelper.downsample(bytes, maxWidth, maxHeight, quality);
+    }
+
     public static ImageData createRawImage(byte[] bytes) {
         return new RawImageData(bytes, ImageType.RAW);
     }
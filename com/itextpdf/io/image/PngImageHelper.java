@@ -198,6 +198,7 @@ class PngImageHelper {
         try {
             int pal0 = 0;
             int palIdx = 0;
+            int firstPalIdx = -1;
             png.palShades = false;
             if (png.trans != null) {
                 for (int k = 0; k < png.trans.length; ++k) {
@@ -205,6 +206,8 @@ class PngImageHelper {
                     if (n == 0) {
                         ++pal0;
                         palIdx = k;
+                        if (firstPalIdx < 0)
+                            firstPalIdx = k;
                     }
                     if (n != 0 && n != 255) {
                         png.palShades = true;
@@ -214,9 +217,12 @@ class PngImageHelper {
             }
             if ((png.colorType & 4) != 0)
                 png.palShades = true;
-            png.genBWMask = (!png.palShades && (pal0 > 1 || png.transRedGray >= 0));
-            if (!png.palShades && !png.genBWMask && pal0 == 1) {
-                png.additional.put("Mask", MessageFormatUtil.format("[{0} {1}]", palIdx, palIdx));
+            // the fully transparent palette entries which form a single range of indices are masked by color key,
+            // so that the image data doesn't have to be decoded to generate the mask
+            boolean palKeyMask = pal0 > 0 && pal0 == palIdx - firstPalIdx + 1;
+            png.genBWMask = (!png.palShades && ((pal0 > 0 && !palKeyMask) || png.transRedGray >= 0));
+            if (!png.palShades && !png.genBWMask && palKeyMask) {
+                png.additional.put("Mask", MessageFormatUtil.format("[{0} {1}]", firstPalIdx, palIdx));
             }
             boolean needDecode = (png.interlaceMethod == 1) || (png.bitDepth == 16) || ((png.colorType & 4) != 0) || png.palShades || png.genBWMask;
             switch (png.colorType) {
@@ -236,8 +242,10 @@ class PngImageHelper {
                     png.inputBands = 4;
                     break;
             }
+            byte[] idat = png.idat.toByteArray();
+            png.idat = null;
             if (needDecode)
-                decodeIdat(png);
+                decodeIdat(png, idat);
             int components = png.inputBands;
             if ((png.colorType & 4) != 0)
                 --components;
@@ -251,7 +259,7 @@ class PngImageHelper {
                     RawImageHelper.updateRawImageParameters(png.image, png.width, png.height, components, bpc, png.imageData, null);
                 }
             } else {
-                RawImageHelper.updateRawImageParameters(png.image, png.width, png.height, components, bpc, png.idat.toByteArray());
+                RawImageHelper.updateRawImageParameters(png.image, png.width, png.height, components, bpc, idat);
                 png.image.setDeflated(true);
                 Map<String, Object> decodeparms = new HashMap<>();
                 decodeparms.put("BitsPerComponent", png.bitDepth);
@@ -533,7 +541,7 @@ class PngImageHelper {
         return true;
     }
 
-    private static void decodeIdat(PngParameters png) {
+    private static void decodeIdat(PngParameters png, byte[] idat) {
         int nbitDepth = png.bitDepth;
         if (nbitDepth == 16)
             nbitDepth = 8;
@@ -567,7 +575,7 @@ class PngImageHelper {
             png.smask = new byte[png.width * png.height];
         else if (png.genBWMask)
             png.smask = new byte[(png.width + 7) / 8 * png.height];
-        ByteArrayInputStream bai = new ByteArrayInputStream(png.idat.toByteArray());
+        ByteArrayInputStream bai = new ByteArrayInputStream(idat);
         png.dataStream = FilterUtil.getInflaterInputStream(bai);
 
         if (png.interlaceMethod != 1) {
@@ -593,6 +601,7 @@ class PngImageHelper {
         int bytesPerRow = (png.inputBands * passWidth * png.bitDepth + 7) / 8;
         byte[] curr = new byte[bytesPerRow];
         byte[] prior = new byte[bytesPerRow];
+        int[] pixels = new int[png.bitDepth == 16 ? bytesPerRow / 2 : bytesPerRow * 8 / png.bitDepth];
 
         // Decode the (sub)image row-by-row
         int srcY, dstY;
@@ -628,7 +637,7 @@ class PngImageHelper {
                     throw new IOException(IOException.UnknownPngFilter);
             }
 
-            processPixels(curr, xOffset, xStep, dstY, passWidth, png);
+            processPixels(curr, pixels, xOffset, xStep, dstY, passWidth, png);
 
             // Swap curr and prior
             byte[] tmp = prior;
@@ -637,10 +646,10 @@ class PngImageHelper {
         }
     }
 
-    private static void processPixels(byte[] curr, int xOffset, int step, int y, int width, PngParameters png) {
+    private static void processPixels(byte[] curr, int[] outPixel, int xOffset, int step, int y, int width, PngParameters png) {
         int srcX, dstX;
 
-        int[] outPixel = getPixel(curr, png);
+        getPixel(curr, outPixel, png);
         int sizes = 0;
         switch (png.colorType) {
             case 0:
@@ -757,22 +766,19 @@ class PngImageHelper {
         }
     }
 
-    private static int[] getPixel(byte[] curr, PngParameters png) {
+    private static void getPixel(byte[] curr, int[] res, PngParameters png) {
         switch (png.bitDepth) {
             case 8: {
-                int[] res = new int[curr.length];
                 for (int k = 0; k < res.length; ++k)
                     res[k] = curr[k] & 0xff;
-                return res;
+                break;
             }
             case 16: {
-                int[] res = new int[curr.length / 2];
                 for (int k = 0; k < res.length; ++k)
                     res[k] = ((curr[k * 2] & 0xff) << 8) + (curr[k * 2 + 1] & 0xff);
-                return res;
+                break;
             }
             default: {
-                int[] res = new int[curr.length * 8 / png.bitDepth];
                 int idx = 0;
                 int passes = 8 / png.bitDepth;
                 int mask = (1 << png.bitDepth) - 1;
@@ -781,49 +787,39 @@ class PngImageHelper {
                         res[idx++] = (curr[k] >>> (png.bitDepth * j)) & mask;
                     }
                 }
-                return res;
+                break;
             }
         }
     }
 
     private static void decodeSubFilter(byte[] curr, int count, int bpp) {
         for (int i = bpp; i < count; i++) {
-            int val = curr[i] & 0xff;
-            val += curr[i - bpp] & 0xff;
-            curr[i] = (byte) val;
+            curr[i] += curr[i - bpp];
         }
     }
 
     private static void decodeUpFilter(byte[] curr, byte[] prev, int count) {
+        // a plain element-wise add, which the JIT compiles to bulk operations
         for (int i = 0; i < count; i++) {
-            int raw = curr[i] & 0xff;
-            int prior = prev[i] & 0xff;
-            curr[i] = (byte) (raw + prior);
+            curr[i] += prev[i];
         }
     }
 
     private static void decodeAverageFilter(byte[] curr, byte[] prev, int count, int bpp) {
-        int raw, priorPixel, priorRow;
-
         for (int i = 0; i < bpp; i++) {
-            raw = curr[i] & 0xff;
-            priorRow = prev[i] & 0xff;
-            curr[i] = (byte) (raw + priorRow / 2);
+            curr[i] += (byte) ((prev[i] & 0xff) >>> 1);
         }
 
         for (int i = bpp; i < count; i++) {
-            raw = curr[i] & 0xff;
-            priorPixel = curr[i - bpp] & 0xff;
-            priorRow = prev[i] & 0xff;
-            curr[i] = (byte) (raw + (priorPixel + priorRow) / 2);
+            curr[i] += (byte) (((curr[i - bpp] & 0xff) + (prev[i] & 0xff)) >>> 1);
         }
     }
 
     private static int paethPredictor(int a, int b, int c) {
-        int p = a + b - c;
-        int pa = Math.abs(p - a);
-        int pb = Math.abs(p - b);
-        int pc = Math.abs(p - c);
+        // pa = |p - a|, pb = |p - b|, pc = |p - c| for p = a + b - c
+        int pa = Math.abs(b - c);
+        int pb = Math.abs(a - c);
+        int pc = Math.abs(a + b - c - c);
 
         if ((pa <= pb) && (pa <= pc)) {
             return a;
@@ -835,22 +831,12 @@ class PngImageHelper {
     }
 
     private static void decodePaethFilter(byte[] curr, byte[] prev, int count, int bpp) {
-        int raw, priorPixel, priorRow, priorRowPixel;
-
         for (int i = 0; i < bpp; i++) {
-            raw = curr[i] & 0xff;
-            priorRow = prev[i] & 0xff;
-            curr[i] = (byte) (raw + priorRow);
+            curr[i] += prev[i];
         }
 
         for (int i = bpp; i < count; i++) {
-            raw = curr[i] & 0xff;
-            priorPixel = curr[i - bpp] & 0xff;
-            priorRow = prev[i] & 0xff;
-            priorRowPixel = prev[i - bpp] & 0xff;
-            curr[i] = (byte) (raw + paethPredictor(priorPixel,
-                    priorRow,
-                    priorRowPixel));
+            curr[i] += (byte) paethPredictor(curr[i - bpp] & 0xff, prev[i] & 0xff, prev[i - bpp] & 0xff);
         }
     }
 
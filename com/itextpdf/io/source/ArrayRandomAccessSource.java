@@ -48,7 +48,7 @@ import java.io.Serializable;
 /**
  * A RandomAccessSource that is based on an underlying byte array
  */
-class ArrayRandomAccessSource implements IRandomAccessSource, Serializable {
+class ArrayRandomAccessSource implements IByteBufferRandomAccessSource, Serializable {
 
     private static final long serialVersionUID = 8497059230517630513L;
 
@@ -82,6 +82,15 @@ class ArrayRandomAccessSource implements IRandomAccessSource, Serializable {
         return array.length;
     }
 
+    public java.nio.ByteBuffer getByteBuffer(long position, int length) {
+        if (array == null) throw new IllegalStateException("Already closed");
+
+        if (position < 0 || length < 0 || position + length > array.length)
+            return null;
+
+        return java.nio.ByteBuffer.wrap(array, (int) position, length).slice().asReadOnlyBuffer();
+    }
+
     public void close() throws java.io.IOException {
         array = null;
     }
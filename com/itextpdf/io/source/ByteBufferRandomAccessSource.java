@@ -71,7 +71,7 @@ import static java.lang.invoke.MethodType.methodType;
  * A RandomAccessSource that is based on an underlying {@link java.nio.ByteBuffer}.  This class takes steps to ensure that the byte buffer
  * is completely freed from memory during {@link ByteBufferRandomAccessSource#close()}
  */
-class ByteBufferRandomAccessSource implements IRandomAccessSource, Serializable {
+class ByteBufferRandomAccessSource implements IByteBufferRandomAccessSource, Serializable {
 
     private static final long serialVersionUID = -1477190062876186034L;
     /**
@@ -80,6 +80,12 @@ class ByteBufferRandomAccessSource implements IRandomAccessSource, Serializable
     private transient java.nio.ByteBuffer byteBuffer;
     private byte[] bufferMirror;
 
+    /**
+     * Indicates if views of the direct buffer have been exposed by {@link #getByteBuffer(long, int)}.
+     * Such a buffer is not cleaned on {@link #close()}, because the views would refer to released memory.
+     */
+    private transient volatile boolean viewsExposed;
+
     /**
      * Constructs a new {@link ByteBufferRandomAccessSource} based on the specified ByteBuffer
      *
@@ -140,12 +146,35 @@ class ByteBufferRandomAccessSource implements IRandomAccessSource, Serializable
         return ((Buffer) byteBuffer).limit();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Note: Because ByteBuffers don't support long indexing, the region must end before Integer.MAX_VALUE
+     */
+    public java.nio.ByteBuffer getByteBuffer(long position, int length) {
+        if (position < 0 || length < 0 || position + length > ((Buffer) byteBuffer).limit())
+            return null;
+
+        if (byteBuffer.isDirect()) {
+            viewsExposed = true;
+        }
+        // the duplicate has its own position and limit, so concurrent reads of this source are not affected
+        java.nio.ByteBuffer view = byteBuffer.duplicate();
+        ((Buffer) view).limit((int) (position + length));
+        ((Buffer) view).position((int) position);
+        return view.slice().asReadOnlyBuffer();
+    }
+
     /**
      * @see java.io.RandomAccessFile#close()
-     * Cleans the mapped bytebuffers and closes the channel
+     * Cleans the mapped bytebuffers and closes the channel.
+     * If views of the buffer have been obtained with {@link #getByteBuffer(long, int)}, the buffer is not cleaned:
+     * it is released by the garbage collector once neither the buffer nor its views are reachable.
      */
     public void close() throws java.io.IOException {
-        clean(byteBuffer);
+        if (!viewsExposed) {
+            clean(byteBuffer);
+        }
     }
 
 
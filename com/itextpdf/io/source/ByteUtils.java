@@ -56,6 +56,9 @@ public final class ByteUtils {
     private static final byte[] one = new byte[]{49};
     private static final byte[] negOne = new byte[]{(byte) '-', 49};
 
+    // values below this limit keep at least 1/8 precision after scaling by 10^6, so digits can be produced directly
+    private static final double HIGH_PRECISION_FAST_LIMIT = 1e9;
+
     public static byte[] getIsoBytes(String text) {
         if (text == null)
             return null;
@@ -134,6 +137,10 @@ public final class ByteUtils {
                     return zero;
                 }
             }
+            long scaled = roundToMicros(Math.abs(d));
+            if (scaled >= 0) {
+                return getIsoBytesHighPrecision(scaled, d < 0, buffer);
+            }
             byte[] result = DecimalFormatUtil.formatNumber(d, "0.######").getBytes(StandardCharsets.ISO_8859_1);
             if (buffer != null) {
                 buffer.prepend(result);
@@ -251,6 +258,56 @@ public final class ByteUtils {
         return buffer == null ? buf.getInternalBuffer() : null;
     }
 
+    /**
+     * Rounds a non-negative value to six fraction digits using the HALF_EVEN rule applied by
+     * {@link DecimalFormatUtil#formatNumber(double, String)} with the {@code "0.######"} pattern.
+     *
+     * @param d non-negative value to round
+     * @return the value multiplied by 10<sup>6</sup> and rounded, or -1 if the result cannot be
+     * determined unambiguously in double arithmetic and the {@link java.text.DecimalFormat} path must be used
+     */
+    private static long roundToMicros(double d) {
+        if (!(d < HIGH_PRECISION_FAST_LIMIT)) {
+            return -1;
+        }
+        double scaled = d * 1000000;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        // the product is off by at most half an ulp, so fractions close to the tie might round either way
+        if (Math.abs(fraction - 0.5) <= Math.ulp(scaled)) {
+            return -1;
+        }
+        return fraction > 0.5 ? (long) floor + 1 : (long) floor;
+    }
+
+    private static byte[] getIsoBytesHighPrecision(long scaled, boolean negative, ByteBuffer buffer) {
+        long intPart = scaled / 1000000;
+        int fraction = (int) (scaled % 1000000);
+        int fracLen = 6;
+        for (; fracLen > 0; fracLen--) {
+            if (fraction % 10 != 0) break;
+            fraction /= 10;
+        }
+        int intLen = longSize(intPart);
+        ByteBuffer buf = buffer != null ? buffer
+                : new ByteBuffer(intLen + (fracLen > 0 ? fracLen + 1 : 0) + (negative ? 1 : 0));
+        for (int i = 0; i < fracLen; i++) {
+            buf.prepend(bytes[fraction % 10]);
+            fraction /= 10;
+        }
+        if (fracLen > 0) {
+            buf.prepend((byte) '.');
+        }
+        for (int i = 0; i < intLen; i++) {
+            buf.prepend(bytes[(int) (intPart % 10)]);
+            intPart /= 10;
+        }
+        if (negative) {
+            buf.prepend((byte) '-');
+        }
+        return buffer == null ? buf.getInternalBuffer() : null;
+    }
+
     private static int longSize(long l) {
         long m = 10;
         for (int i = 1; i < 19; i++) {
@@ -58,7 +58,7 @@ import org.slf4j.LoggerFactory;
  * A RandomAccessSource that is based on an underlying {@link java.nio.channels.FileChannel}.
  * The entire channel will be mapped into memory for efficient reads.
  */
-public class FileChannelRandomAccessSource implements IRandomAccessSource {
+public class FileChannelRandomAccessSource implements IByteBufferRandomAccessSource {
 
     /**
      * The channel this source is based on
@@ -121,4 +121,11 @@ public class FileChannelRandomAccessSource implements IRandomAccessSource {
     public long length() {
         return source.length();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer getByteBuffer(long position, int length) throws java.io.IOException {
+        return source.getByteBuffer(position, length);
+    }
 }
@@ -45,7 +45,7 @@ package com.itextpdf.io.source;
 
 import java.io.Serializable;
 
-public class GetBufferedRandomAccessSource implements IRandomAccessSource, Serializable {
+public class GetBufferedRandomAccessSource implements IByteBufferRandomAccessSource, Serializable {
 
     private static final long serialVersionUID = -8922625738755763494L;
     private final IRandomAccessSource source;
@@ -94,6 +94,16 @@ public class GetBufferedRandomAccessSource implements IRandomAccessSource, Seria
         return source.length();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer getByteBuffer(long position, int length) throws java.io.IOException {
+        if (source instanceof IByteBufferRandomAccessSource) {
+            return ((IByteBufferRandomAccessSource) source).getByteBuffer(position, length);
+        }
+        return null;
+    }
+
     /**
      * Does nothing - the underlying source is not closed
      */
@@ -51,7 +51,7 @@ import java.nio.channels.FileChannel;
  * This class is an internal implementation detail of the {@link FileChannelRandomAccessSource} class and
  * shouldn't be used by general iText users.
  */
-class MappedChannelRandomAccessSource implements IRandomAccessSource {
+class MappedChannelRandomAccessSource implements IByteBufferRandomAccessSource {
     /**
      * The underlying channel
      */
@@ -129,6 +129,15 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
         return length;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public java.nio.ByteBuffer getByteBuffer(long position, int length) throws java.io.IOException {
+        if (source == null)
+            throw new java.io.IOException("RandomAccessSource not opened");
+        return source.getByteBuffer(position, length);
+    }
+
     /**
      * {@inheritDoc}
      */
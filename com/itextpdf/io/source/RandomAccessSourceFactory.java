@@ -78,6 +78,11 @@ public final class RandomAccessSourceFactory implements Serializable {
      */
     private boolean exclusivelyLockFile = false;
 
+    /**
+     * Whether files that fit into a single memory map should be mapped entirely instead of using a paging strategy
+     */
+    private boolean mapEntireFile = false;
+
     /**
      * Creates a factory that will give preference to accessing the underling data source using memory mapped files
      */
@@ -109,6 +114,18 @@ public final class RandomAccessSourceFactory implements Serializable {
         return this;
     }
 
+    /**
+     * Determines whether a file channel smaller than 2 GB should be memory mapped as a whole rather than
+     * through a limited number of mapped pages. Sources of entirely mapped files can expose any of their regions
+     * as {@link java.nio.ByteBuffer} without copying, see {@link IByteBufferRandomAccessSource}.
+     * @param mapEntireFile true if the whole file should be mapped, false otherwise
+     * @return this object (this allows chaining of method calls)
+     */
+    public RandomAccessSourceFactory setMapEntireFile(boolean mapEntireFile){
+        this.mapEntireFile = mapEntireFile;
+        return this;
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a byte array
      * @param data the byte array
@@ -216,12 +233,13 @@ public final class RandomAccessSourceFactory implements Serializable {
      * Creates a {@link IRandomAccessSource} based on memory mapping a file channel.
      * Unless you are explicitly working with a {@code FileChannel} already, it is better to use
      * {@link RandomAccessSourceFactory#createBestSource(String)}.
-     * If the file is large, it will be opened using a paging strategy.
+     * If the file is large, it will be opened using a paging strategy, unless {@link #setMapEntireFile(boolean)} is set.
      * @param channel the name of the file or resource to create the {@link IRandomAccessSource} for
      * @return the newly created {@link IRandomAccessSource}
      */
     public IRandomAccessSource createBestSource(FileChannel channel) throws java.io.IOException {
-        if (channel.size() <= PagedChannelRandomAccessSource.DEFAULT_TOTAL_BUFSIZE){ // if less than the fully mapped usage of PagedFileChannelRandomAccessSource, just map the whole thing and be done with it
+        if (channel.size() <= PagedChannelRandomAccessSource.DEFAULT_TOTAL_BUFSIZE
+                || mapEntireFile && channel.size() <= Integer.MAX_VALUE){ // if less than the fully mapped usage of PagedFileChannelRandomAccessSource, just map the whole thing and be done with it
             return new GetBufferedRandomAccessSource(new FileChannelRandomAccessSource(channel));
         } else {
             return new GetBufferedRandomAccessSource(new PagedChannelRandomAccessSource(channel));
@@ -43,10 +43,15 @@
 package com.itextpdf.io.source;
 
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
+public class ThreadSafeRandomAccessSource implements IByteBufferRandomAccessSource, Serializable {
+
+    private static final long serialVersionUID = -2585412981359530317L;
 
-public class ThreadSafeRandomAccessSource implements IRandomAccessSource {
     private final IRandomAccessSource source;
-    private final Object lockObj = new Object();
+    private transient Object lockObj = new Object();
     
     public ThreadSafeRandomAccessSource(IRandomAccessSource source) {
         this.source = source;
@@ -73,10 +78,25 @@ public class ThreadSafeRandomAccessSource implements IRandomAccessSource {
         }
     }
 
+    @Override
+    public java.nio.ByteBuffer getByteBuffer(long position, int length) throws IOException {
+        synchronized (lockObj) {
+            if (source instanceof IByteBufferRandomAccessSource) {
+                return ((IByteBufferRandomAccessSource) source).getByteBuffer(position, length);
+            }
+            return null;
+        }
+    }
+
     @Override
     public void close() throws IOException {
         synchronized (lockObj) {
             source.close();
         }
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        lockObj = new Object();
+    }
 }
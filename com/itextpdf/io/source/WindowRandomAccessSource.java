@@ -49,7 +49,7 @@ import java.io.Serializable;
  * A RandomAccessSource that wraps another RandomAccessSource and provides a window of it at a specific offset and over
  * a specific length.  Position 0 becomes the offset position in the underlying source.
  */
-public class WindowRandomAccessSource implements IRandomAccessSource, Serializable {
+public class WindowRandomAccessSource implements IByteBufferRandomAccessSource, Serializable {
     private static final long serialVersionUID = -8539987600466289182L;
     /**
      * The source
@@ -116,6 +116,16 @@ public class WindowRandomAccessSource implements IRandomAccessSource, Serializab
         return length;
     }
 
+    /**
+     * {@inheritDoc}
+     * Note that the position will be adjusted to read from the corrected location in the underlying source
+     */
+    public java.nio.ByteBuffer getByteBuffer(long position, int length) throws java.io.IOException {
+        if (position < 0 || position + length > this.length || !(source instanceof IByteBufferRandomAccessSource))
+            return null;
+        return ((IByteBufferRandomAccessSource) source).getByteBuffer(offset + position, length);
+    }
+
     /**
      * {@inheritDoc}
      */
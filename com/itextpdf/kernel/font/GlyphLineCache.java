@@ -0,0 +1,133 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.io.font.otf.GlyphLine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded least recently used cache of the glyph lines of a {@link PdfFont}, keyed by the text
+ * and by the font features the line has been shaped with.
+ * <p>
+ * The cache keeps its own copies of the glyph lines and hands out copies as well, so callers are free
+ * to modify the lines they put or get. All the methods are thread-safe.
+ */
+final class GlyphLineCache {
+
+    private final int maxEntries;
+    private final Map<Key, GlyphLine> glyphLines;
+    private long hitsCount;
+    private long missesCount;
+
+    GlyphLineCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.glyphLines = new LinkedHashMap<Key, GlyphLine>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, GlyphLine> eldest) {
+                return size() > GlyphLineCache.this.maxEntries;
+            }
+        };
+    }
+
+    synchronized GlyphLine get(String text, Object features) {
+        GlyphLine glyphLine = glyphLines.get(new Key(text, features));
+        if (glyphLine == null) {
+            missesCount++;
+            return null;
+        }
+        hitsCount++;
+        return glyphLine.copy(0, glyphLine.end);
+    }
+
+    void put(String text, Object features, GlyphLine glyphLine) {
+        GlyphLine copy = glyphLine.copy(glyphLine.start, glyphLine.end);
+        synchronized (this) {
+            glyphLines.put(new Key(text, features), copy);
+        }
+    }
+
+    synchronized void clear() {
+        glyphLines.clear();
+    }
+
+    synchronized long getHitsCount() {
+        return hitsCount;
+    }
+
+    synchronized long getMissesCount() {
+        return missesCount;
+    }
+
+    private static final class Key {
+        private final String text;
+        private final Object features;
+        private final int hash;
+
+        Key(String text, Object features) {
+            this.text = text;
+            this.features = features;
+            this.hash = 31 * text.hashCode() + (features == null ? 0 : features.hashCode());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && text.equals(other.text)
+                    && (features == null ? other.features == null : features.equals(other.features));
+        }
+    }
+}
@@ -59,9 +59,9 @@ import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
@@ -73,7 +73,22 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
     protected static final byte[] EMPTY_BYTES = new byte[0];
     protected static final double[] DEFAULT_FONT_MATRIX = {0.001, 0, 0, 0.001, 0, 0};
 
-    protected Map<Integer, Glyph> notdefGlyphs = new HashMap<>();
+    /**
+     * The maximum number of glyph lines kept by the glyph line cache of a font.
+     */
+    public static final int MAX_CACHED_GLYPH_LINES = 1024;
+
+    /**
+     * The maximum length of a text whose glyph line is kept by the glyph line cache of a font.
+     * Longer texts are rarely repeated, so caching them would only waste memory.
+     */
+    public static final int MAX_CACHED_GLYPH_LINE_TEXT_LENGTH = 256;
+
+    /**
+     * Glyphs created for unicode values the font program has no glyph for.
+     * Concurrent, because a font of a document opened for reading may be used to decode text of several pages at once.
+     */
+    protected Map<Integer, Glyph> notdefGlyphs = new ConcurrentHashMap<>();
 
     /**
      * false, if the font comes from PdfDocument.
@@ -90,6 +105,8 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
     protected boolean subset = true;
     protected List<int[]> subsetRanges;
 
+    private transient volatile GlyphLineCache glyphLineCache;
+
     protected PdfFont(PdfDictionary fontDictionary) {
         super(fontDictionary);
         getPdfObject().put(PdfName.Type, PdfName.Font);
@@ -131,6 +148,57 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
 
     public abstract GlyphLine createGlyphLine(String content);
 
+    /**
+     * Gets a copy of the glyph line previously cached for the text with
+     * {@link #cacheGlyphLine(String, Object, GlyphLine)}.
+     *
+     * @param content  the text the glyph line has been created from
+     * @param features the font features the glyph line has been shaped with, {@code null} for an unshaped line
+     *                 as created by {@link #createGlyphLine(String)}. Must implement {@code equals} and {@code hashCode}.
+     * @return a new {@link GlyphLine} which may be modified by the caller, or {@code null} if there is no such line in the cache
+     */
+    public GlyphLine getCachedGlyphLine(String content, Object features) {
+        if (content.length() > MAX_CACHED_GLYPH_LINE_TEXT_LENGTH) {
+            return null;
+        }
+        return getGlyphLineCache().get(content, features);
+    }
+
+    /**
+     * Caches the glyph line of the text, so that layout of the same text with the same font features
+     * does not need to map the characters to glyphs and shape them again.
+     * The cache is bounded by {@link #MAX_CACHED_GLYPH_LINES}; texts longer than
+     * {@link #MAX_CACHED_GLYPH_LINE_TEXT_LENGTH} are not cached.
+     *
+     * @param content   the text the glyph line has been created from
+     * @param features  the font features the glyph line has been shaped with, see {@link #getCachedGlyphLine(String, Object)}
+     * @param glyphLine the glyph line, only its part between {@code start} and {@code end} is cached.
+     *                  The line is copied, so it may be modified after this call.
+     */
+    public void cacheGlyphLine(String content, Object features, GlyphLine glyphLine) {
+        if (content.length() <= MAX_CACHED_GLYPH_LINE_TEXT_LENGTH) {
+            getGlyphLineCache().put(content, features, glyphLine);
+        }
+    }
+
+    /**
+     * Gets the number of {@link #getCachedGlyphLine(String, Object)} calls which found a glyph line in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getGlyphLineCacheHitsCount() {
+        return getGlyphLineCache().getHitsCount();
+    }
+
+    /**
+     * Gets the number of {@link #getCachedGlyphLine(String, Object)} calls which did not find a glyph line in the cache.
+     *
+     * @return the number of cache misses
+     */
+    public long getGlyphLineCacheMissesCount() {
+        return getGlyphLineCache().getMissesCount();
+    }
+
     /**
      * Append all supported glyphs and return number of processed chars.
      * Composite font supports surrogate pairs.
@@ -554,6 +622,29 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
         }
     }
 
+    /**
+     * Removes all the glyph lines from the glyph line cache. Shall be called when the glyphs of the font change.
+     */
+    void clearGlyphLineCache() {
+        GlyphLineCache cache = glyphLineCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private GlyphLineCache getGlyphLineCache() {
+        GlyphLineCache cache = glyphLineCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = glyphLineCache;
+                if (cache == null) {
+                    glyphLineCache = cache = new GlyphLineCache(MAX_CACHED_GLYPH_LINES);
+                }
+            }
+        }
+        return cache;
+    }
+
     @Override
     public String toString() {
         return "PdfFont{" +
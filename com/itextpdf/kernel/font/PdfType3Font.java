@@ -265,6 +265,8 @@ public class PdfType3Font extends PdfSimpleFont<Type3Font> {
         glyph = new Type3Glyph(getDocument(), wx, llx, lly, urx, ury, ((Type3Font) getFontProgram()).isColorized());
         ((Type3Font) getFontProgram()).addGlyph(code, c, wx, new int[]{llx, lly, urx, ury}, glyph);
         fontEncoding.addSymbol((byte) code, c);
+        // the glyph lines cached so far may contain .notdef glyphs in place of the new one
+        clearGlyphLineCache();
 
         if (!((Type3Font) getFontProgram()).isColorized()) {
             if (fontProgram.countOfGlyphs() == 0) {
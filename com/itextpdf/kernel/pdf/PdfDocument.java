@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
@@ -76,6 +77,7 @@ import com.itextpdf.kernel.pdf.filespec.PdfFileSpec;
 import com.itextpdf.kernel.pdf.navigation.PdfDestination;
 import com.itextpdf.kernel.pdf.tagging.PdfStructTreeRoot;
 import com.itextpdf.kernel.pdf.tagutils.TagStructureContext;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.kernel.xmp.PdfConst;
 import com.itextpdf.kernel.xmp.XMPConst;
 import com.itextpdf.kernel.xmp.XMPException;
@@ -91,6 +93,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -101,6 +105,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -193,6 +198,14 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
     private Map<PdfIndirectReference, PdfFont> documentFonts = new HashMap<>();
     private PdfFont defaultFont = null;
 
+    /**
+     * The streams of the image XObjects added to the document, by the {@link ImageData} they were created from
+     * and by the content of their dictionaries.
+     */
+    private transient Map<ImageData, Map<String, PdfStream>> imageXObjectStreams;
+    private long reusedImageXObjectsCount;
+    private long reusedImageXObjectsBytes;
+
     protected transient TagStructureContext tagStructureContext;
 
     private static final AtomicLong lastDocumentId = new AtomicLong();
@@ -384,6 +397,12 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
 
     /**
      * Gets the page by page number.
+     * <p>
+     * If the document is opened in reading mode, pages can be requested and their contents can be processed
+     * (e.g. with {@link com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor}) from several threads concurrently:
+     * reading of objects, retrieving pages and fonts of the document are thread-safe. Note that reading of objects
+     * and stream bytes is serialized on the {@link PdfReader}, see its description, so only decoding and processing
+     * of the contents runs in parallel. Modification of the document objects from several threads is not supported.
      *
      * @param pageNum page number.
      * @return page by page number. may return {@code null} in case the page tree is broken
@@ -1654,10 +1673,12 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
      */
     public PdfFont getFont(PdfDictionary dictionary) {
         assert dictionary.getIndirectReference() != null;
-        if (documentFonts.containsKey(dictionary.getIndirectReference())) {
-            return documentFonts.get(dictionary.getIndirectReference());
-        } else {
-            return addFont(PdfFontFactory.createFont(dictionary));
+        synchronized (documentFonts) {
+            if (documentFonts.containsKey(dictionary.getIndirectReference())) {
+                return documentFonts.get(dictionary.getIndirectReference());
+            } else {
+                return addFont(PdfFontFactory.createFont(dictionary));
+            }
         }
     }
 
@@ -1681,6 +1702,123 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         return defaultFont;
     }
 
+    /**
+     * Gets the stream to be written for the image XObject added to a canvas of the document. If an image XObject
+     * created from the same {@link ImageData} instance and with an equal dictionary was added to this document before,
+     * its stream is returned, so that the image is written to the document only once. The image XObjects created from
+     * {@link com.itextpdf.io.image.ImageDataFactory cached} image data are therefore written once for each image content.
+     * The image XObject itself is not changed.
+     *
+     * @param image the image XObject which is added to the document
+     * @return the stream of the image XObject added before, or the stream of the given image XObject
+     */
+    PdfStream getImageXObjectStream(PdfImageXObject image) {
+        ImageData imageData = image.getImageData();
+        PdfStream stream = image.getPdfObject();
+        if (imageData == null || stream.getIndirectReference() != null || stream.isFlushed()) {
+            return stream;
+        }
+        // the dictionary may have been changed after the image XObject was created, e.g. an /Interpolate
+        // or a /SMask entry added, so only the image XObjects with equal dictionaries share the stream
+        String dictionaryContent = serializeImageDictionary(stream);
+        if (dictionaryContent == null) {
+            return stream;
+        }
+        if (imageXObjectStreams == null) {
+            // weak keys, so that the image data is not kept alive by the document
+            imageXObjectStreams = new WeakHashMap<>();
+        }
+        Map<String, PdfStream> streams = imageXObjectStreams.get(imageData);
+        if (streams == null) {
+            streams = new HashMap<>();
+            imageXObjectStreams.put(imageData, streams);
+        }
+        PdfStream sharedStream = streams.get(dictionaryContent);
+        if (sharedStream == null) {
+            streams.put(dictionaryContent, stream);
+            return stream;
+        }
+        reusedImageXObjectsCount++;
+        if (imageData.getData() != null) {
+            reusedImageXObjectsBytes += imageData.getData().length;
+        }
+        return sharedStream;
+    }
+
+    /**
+     * Gets the number of image XObjects which shared the stream of an image XObject added before,
+     * see {@link PdfResources#addImage(PdfDocument, PdfImageXObject)}.
+     *
+     * @return the number of reused image XObjects
+     */
+    public long getReusedImageXObjectsCount() {
+        return reusedImageXObjectsCount;
+    }
+
+    /**
+     * Gets the total size of the image data which was not written to the document again because
+     * image XObjects shared the stream of an image XObject added before, see {@link PdfResources#addImage(PdfDocument, PdfImageXObject)}.
+     *
+     * @return the size in bytes
+     */
+    public long getReusedImageXObjectsBytes() {
+        return reusedImageXObjectsBytes;
+    }
+
+    /**
+     * Serializes the entries of the image XObject dictionary. The nested streams which are not yet written,
+     * like the soft mask, are serialized with the digest of their data.
+     *
+     * @return the serialized dictionary, or {@code null} if the digest algorithm is not available
+     */
+    private static String serializeImageDictionary(PdfDictionary dictionary) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+        StringBuilder content = new StringBuilder();
+        serializeImageDictionaryEntries(dictionary, content, digest);
+        return content.toString();
+    }
+
+    private static void serializeImageDictionaryEntries(PdfDictionary dictionary, StringBuilder content, MessageDigest digest) {
+        content.append("<<");
+        for (PdfName key : dictionary.keySet()) {
+            content.append(key).append(' ');
+            serializeImageObject(dictionary.get(key, false), content, digest);
+        }
+        content.append(">>");
+    }
+
+    private static void serializeImageObject(PdfObject object, StringBuilder content, MessageDigest digest) {
+        PdfIndirectReference reference = object.isIndirectReference() ? (PdfIndirectReference) object : object.getIndirectReference();
+        if (reference != null) {
+            content.append(reference.getObjNumber()).append(' ').append(reference.getGenNumber()).append(" R ");
+        } else if (object.isStream()) {
+            serializeImageDictionaryEntries((PdfDictionary) object, content, digest);
+            content.append("stream ");
+            for (byte b : digest.digest(((PdfStream) object).getBytes(false))) {
+                content.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            content.append(' ');
+        } else if (object.isDictionary()) {
+            serializeImageDictionaryEntries((PdfDictionary) object, content, digest);
+        } else if (object.isArray()) {
+            PdfArray array = (PdfArray) object;
+            content.append('[');
+            for (int i = 0; i < array.size(); i++) {
+                serializeImageObject(array.get(i, false), content, digest);
+            }
+            content.append(']');
+        } else {
+            // the length keeps the strings which contain delimiters from matching other content
+            String value = object.toString();
+            content.append(object.getType()).append(':').append(value.length()).append(':').append(value).append(' ');
+        }
+    }
+
     /**
      * Adds a {@link PdfFont} instance to this document so that this font is flushed automatically
      * on document close. As a side effect, the underlying font dictionary is made indirect if it wasn't the case yet
@@ -1689,7 +1827,9 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
      */
     public PdfFont addFont(PdfFont font) {
         font.makeIndirect(this);
-        documentFonts.put(font.getPdfObject().getIndirectReference(), font);
+        synchronized (documentFonts) {
+            documentFonts.put(font.getPdfObject().getIndirectReference(), font);
+        }
         return font;
     }
 
@@ -62,8 +62,10 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
 
     /**
      * PdfObject that current PdfIndirectReference instance refers to.
+     * The field is volatile, because objects of a document opened in reading mode could be resolved
+     * from different threads.
      */
-    protected PdfObject refersTo = null;
+    protected volatile PdfObject refersTo = null;
 
     /**
      * Indirect reference number of object stream containing refersTo object.
@@ -124,7 +126,13 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
     public PdfObject getRefersTo(boolean recursively) {
         if (!recursively) {
             if (refersTo == null && !checkState(FLUSHED) && !checkState(MODIFIED) && !checkState(FREE) && getReader() != null) {
-                refersTo = getReader().readObject(this);
+                PdfReader reader = getReader();
+                // object shall be read only once even if it is requested from several threads simultaneously
+                synchronized (reader) {
+                    if (refersTo == null) {
+                        refersTo = reader.readObject(this);
+                    }
+                }
             }
             return refersTo;
         } else {
@@ -366,6 +366,10 @@ public abstract class PdfObject implements Serializable {
         } else {
             if (indirectReference != null && indirectReference.getReader() != null
                     && !indirectReference.checkState(FLUSHED)) {
+                PdfDocument document = indirectReference.getDocument();
+                if (isStream() && document != null && document.getWriter() != null) {
+                    document.getWriter().releasePrecompressedContent((PdfStream) this);
+                }
                 indirectReference.refersTo = null;
                 indirectReference = null;
                 setState(READ_ONLY);
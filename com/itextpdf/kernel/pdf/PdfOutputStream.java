@@ -341,17 +341,17 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 try {
                     if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) { // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+                            byteArrayStream = new ByteArrayOutputStream();
+                            DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
                             ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
                             ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            zip.finish();
                         } else {
                             assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            byteArrayStream = compressStreamContent(pdfStream);
                         }
-                        zip.finish();
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
@@ -386,6 +386,44 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Compresses the content of the stream which is written to the document.
+     * The stream filters are already updated at the moment of the call.
+     *
+     * @param pdfStream the stream which content shall be compressed with its compression level
+     * @return compressed content of the stream
+     * @throws IOException on error
+     */
+    protected ByteArrayOutputStream compressStreamContent(PdfStream pdfStream) throws IOException {
+        return deflate((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream(), pdfStream.getCompressionLevel());
+    }
+
+    /**
+     * Checks if the stream content stored in memory will be deflated when the stream is written.
+     *
+     * @param pdfStream        the stream to check
+     * @param compressionLevel the compression level the stream will be written with
+     * @return true if {@link #compressStreamContent(PdfStream)} will be called for the stream
+     */
+    boolean isDeflatedOnWrite(PdfStream pdfStream, int compressionLevel) {
+        if (pdfStream instanceof PdfObjectStream || pdfStream.getInputStream() != null
+                || pdfStream.getOutputStream() == null) {
+            return false;
+        }
+        boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+        boolean toCompress = compressionLevel != CompressionConstants.NO_COMPRESSION;
+        boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
+        return toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression);
+    }
+
+    static ByteArrayOutputStream deflate(ByteArrayOutputStream content, int compressionLevel) throws IOException {
+        ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, compressionLevel);
+        content.writeTo(zip);
+        zip.finish();
+        return byteArrayStream;
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || crypto.isEmbeddedFilesOnly()) {
             return false;
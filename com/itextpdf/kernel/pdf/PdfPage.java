@@ -491,11 +491,17 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         if (resources != null && resources.isModified() && !resources.isReadOnly()) {
             getPdfObject().put(PdfName.Resources, resources.getPdfObject());
         }
+        int contentStreamCount = getContentStreamCount();
+        PdfWriter writer = getDocument().getWriter();
+        if (writer != null) {
+            for (int i = 0; i < contentStreamCount; i++) {
+                writer.compressAhead(getContentStream(i));
+            }
+        }
         if (flushResourcesContentStreams) {
             getDocument().checkIsoConformance(this, IsoKey.PAGE);
             flushResourcesContentStreams();
         }
-        int contentStreamCount = getContentStreamCount();
         for (int i = 0; i < contentStreamCount; i++) {
             getContentStream(i).flush(false);
         }
@@ -46,16 +46,19 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.IByteBufferRandomAccessSource;
 import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.source.WindowRandomAccessSource;
 import com.itextpdf.io.util.MessageFormatUtil;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.crypto.securityhandler.UnsupportedSecurityHandlerException;
 import com.itextpdf.kernel.pdf.filters.FilterHandlers;
 import com.itextpdf.kernel.pdf.filters.IFilterHandler;
+import com.itextpdf.kernel.pdf.filters.IStreamingFilterHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -69,6 +72,13 @@ import java.util.Map;
 
 /**
  * Reads a PDF document.
+ * <p>
+ * Objects of the document are read lazily on first access. The reader has a single tokenizer, and the sources
+ * it reads from are not thread-safe, so all reading of objects and stream bytes is serialized on the reader instance.
+ * Objects of a document opened in reading mode can therefore be resolved from several threads, see
+ * {@link PdfDocument#getPage(int)}, but only one thread reads from the source at a time: parsing of objects does
+ * not scale with the number of threads, only the work done on the read objects, e.g. decoding of the streams
+ * and processing of page contents, runs in parallel.
  */
 public class PdfReader implements Closeable, Serializable {
 
@@ -293,6 +303,12 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public byte[] readStreamBytesRaw(PdfStream stream) throws IOException {
+        synchronized (this) {
+            return readStreamBytesRawUnsafe(stream);
+        }
+    }
+
+    private byte[] readStreamBytesRawUnsafe(PdfStream stream) throws IOException {
         PdfName type = stream.getAsName(PdfName.Type);
         if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
             checkPdfStreamLength(stream);
@@ -340,16 +356,59 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     /**
-     * Reads, decrypt and optionally decode stream bytes into {@link ByteArrayInputStream}.
+     * Gets raw stream bytes as a read-only {@link java.nio.ByteBuffer}.
+     * If the stream is not encrypted and the source of the reader allows it (e.g. a memory mapped file, see
+     * {@link RandomAccessSourceFactory#setMapEntireFile(boolean)}, or a byte array), the returned buffer is a view
+     * of the source and no bytes are copied. Such a view remains valid after the reader is closed, a mapped file region
+     * is then released only when the view is garbage collected.
+     * Otherwise the bytes are read and decrypted as in {@link #readStreamBytesRaw(PdfStream)}.
+     *
+     * @return read-only buffer with the stream bytes, or {@code null} if the stream was not read from the document.
+     * @throws IOException on error.
+     */
+    public java.nio.ByteBuffer readStreamRawByteBuffer(PdfStream stream) throws IOException {
+        if (decrypt == null || decrypt.isEmbeddedFilesOnly()) {
+            PdfName type = stream.getAsName(PdfName.Type);
+            if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type)) {
+                synchronized (this) {
+                    checkPdfStreamLength(stream);
+                }
+            }
+            long offset = stream.getOffset();
+            if (offset <= 0)
+                return null;
+            int length = Math.max(stream.getLength(), 0);
+            IRandomAccessSource source = tokens.getSafeFile().createSourceView();
+            if (source instanceof IByteBufferRandomAccessSource) {
+                java.nio.ByteBuffer view = ((IByteBufferRandomAccessSource) source).getByteBuffer(offset, length);
+                if (view != null) {
+                    return view;
+                }
+            }
+        }
+        byte[] bytes = readStreamBytesRaw(stream);
+        return bytes != null ? java.nio.ByteBuffer.wrap(bytes).asReadOnlyBuffer() : null;
+    }
+
+    /**
+     * Reads, decrypt and optionally decode stream bytes into {@link InputStream}.
      * User is responsible for closing returned stream.
+     * <p>
+     * If the stream is decoded, the data is decoded while the returned stream is read, see
+     * {@link #decodeStream(InputStream, PdfDictionary)}, so the decoded data is never held in memory as a whole.
+     * Errors in the encoded data are therefore reported when the returned stream is read.
      *
      * @param decode true if to get decoded stream, false if to leave it originally encoded.
      * @return InputStream or {@code null} if reading was failed.
      * @throws IOException on error.
      */
     public InputStream readStream(PdfStream stream, boolean decode) throws IOException {
-        byte[] bytes = readStreamBytes(stream, decode);
-        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+        byte[] bytes = readStreamBytesRaw(stream);
+        if (bytes == null) {
+            return null;
+        }
+        InputStream in = new ByteArrayInputStream(bytes);
+        return decode ? decodeStream(in, stream) : in;
     }
 
     /**
@@ -377,6 +436,74 @@ public class PdfReader implements Closeable, Serializable {
         if (b == null) {
             return null;
         }
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParamsArray(streamDictionary);
+        for (int j = 0; j < filters.size(); ++j) {
+            PdfName filterName = (PdfName) filters.get(j);
+            IFilterHandler filterHandler = filterHandlers.get(filterName);
+            if (filterHandler == null)
+                throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
+
+            b = filterHandler.decode(b, filterName, getDecodeParams(dp, j), streamDictionary);
+        }
+        return b;
+    }
+
+    /**
+     * Wraps the stream into a stream which decodes the data applying the filters specified in the provided dictionary
+     * using default filter handlers.
+     *
+     * @param in               the stream of the bytes to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @return the stream of the decoded bytes
+     * @throws PdfException if there are any problems decoding the bytes
+     */
+    public static InputStream decodeStream(InputStream in, PdfDictionary streamDictionary) throws IOException {
+        return decodeStream(in, streamDictionary, FilterHandlers.getDefaultFilterHandlers());
+    }
+
+    /**
+     * Wraps the stream into a stream which decodes the data applying the filters specified in the provided dictionary
+     * using the provided filter handlers.
+     * The filters which handlers implement {@link IStreamingFilterHandler} decode the data while it is being read.
+     * The data for any other filter is read and decoded as a whole when the filter is reached in the chain.
+     *
+     * @param in               the stream of the bytes to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @param filterHandlers   the map used to look up a handler for each type of filter
+     * @return the stream of the decoded bytes
+     * @throws IOException  on error reading the data for a filter which doesn't support streaming.
+     * @throws PdfException if there are any problems decoding the bytes
+     */
+    public static InputStream decodeStream(InputStream in, PdfDictionary streamDictionary, Map<PdfName, IFilterHandler> filterHandlers) throws IOException {
+        if (in == null) {
+            return null;
+        }
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParamsArray(streamDictionary);
+        for (int j = 0; j < filters.size(); ++j) {
+            PdfName filterName = (PdfName) filters.get(j);
+            IFilterHandler filterHandler = filterHandlers.get(filterName);
+            if (filterHandler == null)
+                throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
+
+            PdfDictionary decodeParams = getDecodeParams(dp, j);
+            if (filterHandler instanceof IStreamingFilterHandler) {
+                in = ((IStreamingFilterHandler) filterHandler).decode(in, filterName, decodeParams, streamDictionary);
+            } else {
+                byte[] b;
+                try {
+                    b = StreamUtil.inputStreamToArray(in);
+                } finally {
+                    in.close();
+                }
+                in = new ByteArrayInputStream(filterHandler.decode(b, filterName, decodeParams, streamDictionary));
+            }
+        }
+        return in;
+    }
+
+    private static PdfArray getFilters(PdfDictionary streamDictionary) {
         PdfObject filter = streamDictionary.get(PdfName.Filter);
         PdfArray filters = new PdfArray();
         if (filter != null) {
@@ -386,6 +513,10 @@ public class PdfReader implements Closeable, Serializable {
                 filters = ((PdfArray) filter);
             }
         }
+        return filters;
+    }
+
+    private static PdfArray getDecodeParamsArray(PdfDictionary streamDictionary) {
         PdfArray dp = new PdfArray();
         PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
         if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
@@ -400,28 +531,21 @@ public class PdfReader implements Closeable, Serializable {
             }
             dpo.release();
         }
-        for (int j = 0; j < filters.size(); ++j) {
-            PdfName filterName = (PdfName) filters.get(j);
-            IFilterHandler filterHandler = filterHandlers.get(filterName);
-            if (filterHandler == null)
-                throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
+        return dp;
+    }
 
-            PdfDictionary decodeParams;
-            if (j < dp.size()) {
-                PdfObject dpEntry = dp.get(j, true);
-                if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
-                    decodeParams = null;
-                } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
-                    decodeParams = (PdfDictionary) dpEntry;
-                } else {
-                    throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
-                }
+    private static PdfDictionary getDecodeParams(PdfArray dp, int index) {
+        if (index < dp.size()) {
+            PdfObject dpEntry = dp.get(index, true);
+            if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
+                return null;
+            } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
+                return (PdfDictionary) dpEntry;
             } else {
-                decodeParams = null;
+                throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
             }
-            b = filterHandler.decode(b, filterName, decodeParams, streamDictionary);
         }
-        return b;
+        return null;
     }
 
     /**
@@ -599,7 +723,9 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     protected PdfObject readObject(PdfIndirectReference reference) {
-        return readObject(reference, true);
+        synchronized (this) {
+            return readObject(reference, true);
+        }
     }
 
     protected PdfObject readObject(boolean readAsDirect) throws IOException {
@@ -125,6 +125,19 @@ public class PdfResources extends PdfObjectWrapper<PdfDictionary> {
         return addResource(image, imageNamesGen);
     }
 
+    /**
+     * Adds {@link PdfImageXObject} object to the resources. If an image XObject created from the same
+     * {@link com.itextpdf.io.image.ImageData} instance and with an equal dictionary was added to the document before,
+     * the stream of that image XObject is added instead, so that the image is written to the document only once.
+     *
+     * @param pdfDocument the document the resources belong to.
+     * @param image the {@link PdfImageXObject} to add.
+     * @return added image resource name.
+     */
+    public PdfName addImage(PdfDocument pdfDocument, PdfImageXObject image) {
+        return addResource(pdfDocument.getImageXObjectStream(image), imageNamesGen);
+    }
+
     /**
      * Adds {@link PdfStream} to the resources as image.
      *
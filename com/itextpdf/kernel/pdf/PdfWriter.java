@@ -56,10 +56,18 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.itextpdf.io.source.ByteUtils.getIsoBytes;
 
@@ -91,7 +99,14 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     /**
      * Is used in smart mode to serialize and store serialized objects content.
      */
-    private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
+    private SmartModePdfObjectsSerializer smartModeSerializer;
+
+    /**
+     * Is used to compress streams on worker threads before they are written,
+     * see {@link WriterProperties#setCompressionThreadsCount(int)}.
+     */
+    private transient ExecutorService compressionExecutor;
+    private transient Map<PdfStream, PrecompressedContent> precompressedStreams;
 
     //forewarned is forearmed
     protected boolean isUserWarnedAboutAcroFormCopying;
@@ -117,6 +132,8 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     public PdfWriter(java.io.OutputStream os, WriterProperties properties) {
         super(FileUtil.wrapWithBufferedOutputStream(os));
         this.properties = properties;
+        this.smartModeSerializer = new SmartModePdfObjectsSerializer(properties.smartModeHashAlgorithm,
+                properties.smartModeVerifyOnHit);
         if (properties.debugMode) {
             setDebugMode();
         }
@@ -189,6 +206,25 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         return this;
     }
 
+    /**
+     * Gets the number of times smart mode looked for an already copied object with the same content.
+     *
+     * @return the number of smart mode lookups
+     */
+    public long getSmartModeLookupsCount() {
+        return smartModeSerializer.getLookupsCount();
+    }
+
+    /**
+     * Gets the number of copied objects which were replaced in smart mode with already copied objects of
+     * the same content. Together with {@link #getSmartModeLookupsCount()} this gives the deduplication hit rate.
+     *
+     * @return the number of reused objects
+     */
+    public long getSmartModeHitsCount() {
+        return smartModeSerializer.getHitsCount();
+    }
+
     /**
      * Write an integer to the underlying stream
      *
@@ -244,6 +280,11 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         try {
             super.close();
         } finally {
+            if (compressionExecutor != null) {
+                compressionExecutor.shutdownNow();
+                compressionExecutor = null;
+                precompressedStreams = null;
+            }
             try {
                 if (duplicateStream != null) {
                     duplicateStream.close();
@@ -301,6 +342,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             writeToBody(pdfObject);
         }
         indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
+        if (properties.compactXrefTable) {
+            document.getXref().compactFlushedReference(indirectReference);
+        }
         switch (pdfObject.getType()) {
             case PdfObject.BOOLEAN:
             case PdfObject.NAME:
@@ -403,6 +447,120 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
                 writeString("\n%\u00e2\u00e3\u00cf\u00d3\n");
     }
 
+    /**
+     * Starts compression of the stream content on a worker thread if parallel compression is enabled
+     * and the content of the stream is going to be deflated on writing. The compressed content is picked up
+     * when the stream is written, so the stream must not be modified after this call.
+     *
+     * @param pdfStream the stream which is about to be flushed
+     */
+    void compressAhead(PdfStream pdfStream) {
+        if (properties.compressionThreadsCount <= 0 || pdfStream == null || pdfStream.isFlushed()) {
+            return;
+        }
+        if (precompressedStreams != null && precompressedStreams.containsKey(pdfStream)) {
+            return;
+        }
+        int compressionLevel = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION ?
+                pdfStream.getCompressionLevel() : getCompressionLevel();
+        if (!isDeflatedOnWrite(pdfStream, compressionLevel)) {
+            return;
+        }
+        if (compressionExecutor == null) {
+            compressionExecutor = createCompressionExecutor(properties.compressionThreadsCount);
+            precompressedStreams = new IdentityHashMap<>();
+        }
+        final ByteArrayOutputStream content = (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
+        final int level = compressionLevel;
+        Future<ByteArrayOutputStream> compressed = compressionExecutor.submit(new Callable<ByteArrayOutputStream>() {
+            @Override
+            public ByteArrayOutputStream call() throws IOException {
+                return deflate(content, level);
+            }
+        });
+        precompressedStreams.put(pdfStream, new PrecompressedContent(content, content.size(), level, compressed));
+    }
+
+    @Override
+    protected ByteArrayOutputStream compressStreamContent(PdfStream pdfStream) throws IOException {
+        PrecompressedContent precompressed = precompressedStreams != null ? precompressedStreams.remove(pdfStream) : null;
+        if (precompressed != null) {
+            if (precompressed.isUpToDate(pdfStream)) {
+                try {
+                    return precompressed.compressed.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    Logger logger = LoggerFactory.getLogger(PdfWriter.class);
+                    logger.warn(LogMessageConstant.PARALLEL_STREAM_COMPRESSION_FAILED, e);
+                }
+            } else {
+                precompressed.compressed.cancel(false);
+            }
+        }
+        return super.compressStreamContent(pdfStream);
+    }
+
+    /**
+     * Drops the content compressed ahead for the stream, if any. Used when the stream is released
+     * without being written.
+     *
+     * @param pdfStream the stream which is released
+     */
+    void releasePrecompressedContent(PdfStream pdfStream) {
+        PrecompressedContent precompressed = precompressedStreams != null ? precompressedStreams.remove(pdfStream) : null;
+        if (precompressed != null) {
+            precompressed.compressed.cancel(false);
+        }
+    }
+
+    /**
+     * Drops the content compressed ahead for the streams which were not written by the final flush,
+     * e.g. the ones forbidden to flush or made free after compression was started.
+     */
+    private void releasePrecompressedStreams() {
+        if (precompressedStreams == null) {
+            return;
+        }
+        for (PrecompressedContent precompressed : precompressedStreams.values()) {
+            precompressed.compressed.cancel(false);
+        }
+        precompressedStreams.clear();
+    }
+
+    private void compressWaitingStreamsAhead(Set<PdfIndirectReference> forbiddenToFlush, boolean modifiedOnly) {
+        if (properties.compressionThreadsCount <= 0) {
+            return;
+        }
+        PdfXrefTable xref = document.getXref();
+        for (int i = 1; i < xref.size(); i++) {
+            PdfIndirectReference indirectReference = xref.get(i);
+            if (indirectReference != null && !indirectReference.isFree()
+                    && indirectReference.checkState(modifiedOnly ? PdfObject.MODIFIED : PdfObject.MUST_BE_FLUSHED)
+                    && !forbiddenToFlush.contains(indirectReference)) {
+                PdfObject obj = indirectReference.getRefersTo(false);
+                if (obj != null && obj.isStream()) {
+                    compressAhead((PdfStream) obj);
+                }
+            }
+        }
+    }
+
+    private static ExecutorService createCompressionExecutor(int threadsCount) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threadsCount, threadsCount, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "iText stream compression");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        // idle workers shall not outlive a writer which is never closed
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * Flushes all objects which have not been flushed yet.
      * @param forbiddenToFlush {@link Set<PdfIndirectReference>} of references that are forbidden to be flushed automatically.
@@ -412,6 +570,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         boolean needFlush = true;
         while (needFlush) {
             needFlush = false;
+            compressWaitingStreamsAhead(forbiddenToFlush, false);
             for (int i = 1; i < xref.size(); i++) {
                 PdfIndirectReference indirectReference = xref.get(i);
                 if (indirectReference != null && !indirectReference.isFree()
@@ -429,6 +588,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             objectStream.flush();
             objectStream = null;
         }
+        releasePrecompressedStreams();
     }
 
     /**
@@ -437,6 +597,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      */
     protected void flushModifiedWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
+        compressWaitingStreamsAhead(forbiddenToFlush, true);
         for (int i = 1; i < xref.size(); i++) {
             PdfIndirectReference indirectReference = xref.get(i);
             if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(indirectReference)) {
@@ -455,6 +616,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             objectStream.flush();
             objectStream = null;
         }
+        releasePrecompressedStreams();
     }
 
     /**
@@ -551,4 +713,24 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         outputStream = tempOutputStream;
     }
 
+    private static class PrecompressedContent {
+        private final ByteArrayOutputStream content;
+        private final long contentSize;
+        private final int compressionLevel;
+        private final Future<ByteArrayOutputStream> compressed;
+
+        PrecompressedContent(ByteArrayOutputStream content, long contentSize, int compressionLevel,
+                             Future<ByteArrayOutputStream> compressed) {
+            this.content = content;
+            this.contentSize = contentSize;
+            this.compressionLevel = compressionLevel;
+            this.compressed = compressed;
+        }
+
+        boolean isUpToDate(PdfStream pdfStream) {
+            PdfOutputStream outputStream = pdfStream.getOutputStream();
+            return outputStream != null && outputStream.getOutputStream() == content && content.size() == contentSize
+                    && pdfStream.getCompressionLevel() == compressionLevel;
+        }
+    }
 }
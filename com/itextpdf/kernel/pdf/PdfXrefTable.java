@@ -44,7 +44,6 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.LogMessageConstant;
-import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.util.MessageFormatUtil;
 import com.itextpdf.kernel.ProductInfo;
 import com.itextpdf.kernel.VersionInfo;
@@ -53,9 +52,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.TreeSet;
@@ -67,12 +65,30 @@ class PdfXrefTable implements Serializable {
     private static final int INITIAL_CAPACITY = 32;
     private static final int MAX_GENERATION = 65535;
 
-    private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
-    private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
+    private static final int XREF_ENTRY_LENGTH = 20;
 
     private PdfIndirectReference[] xref;
     private int count = 0;
 
+    /**
+     * Offsets of the flushed references which have been dropped from {@link #xref}, see
+     * {@link #compactFlushedReference(PdfIndirectReference)}. Zero if the reference has not been dropped,
+     * negated number of the object stream if the object has been written into an object stream.
+     */
+    private long[] flushedOffsets;
+
+    /**
+     * Generations of the dropped flushed references, or their indexes in the object streams.
+     */
+    private int[] flushedGenerations;
+
+    /**
+     * Numbers of the dropped flushed references which had {@link PdfObject#MODIFIED} state.
+     */
+    private BitSet flushedModified;
+
+    private PdfDocument flushedDocument;
+
     /**
      * Free references linked list is stored in a form of a map, where:
      * key - free reference obj number;
@@ -106,6 +122,9 @@ class PdfXrefTable implements Serializable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (flushedOffsets != null) {
+            flushedOffsets[objNr] = 0;
+        }
         return reference;
     }
 
@@ -117,9 +136,44 @@ class PdfXrefTable implements Serializable {
         if (index > count) {
             return null;
         }
+        if (isDroppedFlushedReference(index)) {
+            return restoreFlushedReference(index);
+        }
         return xref[index];
     }
 
+    /**
+     * Drops flushed reference from the table, keeping only its offset and generation.
+     * The reference is created anew each time it is requested by {@link #get(int)} after that,
+     * it neither keeps the identity of the dropped instance nor refers to the flushed object.
+     *
+     * @param reference the reference of the object which has just been flushed
+     */
+    void compactFlushedReference(PdfIndirectReference reference) {
+        int objNr = reference.getObjNumber();
+        if (objNr > count || xref[objNr] != reference || !reference.checkState(PdfObject.FLUSHED)
+                || reference.checkState(PdfObject.FREE)) {
+            return;
+        }
+        if (flushedOffsets == null) {
+            flushedOffsets = new long[xref.length];
+            flushedGenerations = new int[xref.length];
+            flushedModified = new BitSet();
+            flushedDocument = reference.getDocument();
+        }
+        if (reference.getObjStreamNumber() != 0) {
+            flushedOffsets[objNr] = -reference.getObjStreamNumber();
+            flushedGenerations[objNr] = reference.getIndex();
+        } else if (reference.getOffset() > 0) {
+            flushedOffsets[objNr] = reference.getOffset();
+            flushedGenerations[objNr] = reference.getGenNumber();
+        } else {
+            return;
+        }
+        flushedModified.set(objNr, reference.checkState(PdfObject.MODIFIED));
+        xref[objNr] = null;
+    }
+
     void initFreeReferencesList(PdfDocument pdfDocument) {
         freeReferencesLinkedList.clear();
 
@@ -230,7 +284,7 @@ class PdfXrefTable implements Serializable {
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
                 PdfIndirectReference lastRef = xref[i];
-                if (lastRef == null || lastRef.isFree()) {
+                if (lastRef == null && !isDroppedFlushedReference(i) || lastRef != null && lastRef.isFree()) {
                     removeFreeRefFromList(i);
                     --count;
                 } else {
@@ -239,8 +293,8 @@ class PdfXrefTable implements Serializable {
             }
         }
 
-        List<Integer> sections = createSections(document, false);
-        if (document.properties.appendMode && sections.size() == 0) { // no modifications.
+        int[] sections = createSections(document, false);
+        if (document.properties.appendMode && sections.length == 0) { // no modifications.
             xref = null;
             return;
         }
@@ -262,8 +316,8 @@ class PdfXrefTable implements Serializable {
             xrefStream.put(PdfName.Info, document.getDocumentInfo().getPdfObject());
             xrefStream.put(PdfName.Root, document.getCatalog().getPdfObject());
             PdfArray index = new PdfArray();
-            for (Integer section : sections) {
-                index.add(new PdfNumber((int) section));
+            for (int section : sections) {
+                index.add(new PdfNumber(section));
             }
             if (document.properties.appendMode && !document.reader.hybridXref) {
                 // "not meaningful in hybrid-reference files"
@@ -272,23 +326,31 @@ class PdfXrefTable implements Serializable {
             }
             xrefStream.put(PdfName.Index, index);
             PdfXrefTable xrefTable = document.getXref();
-            for (int k = 0; k < sections.size(); k += 2) {
-                int first = (int) sections.get(k);
-                int len = (int) sections.get(k + 1);
+            PdfOutputStream xrefStreamOutput = xrefStream.getOutputStream();
+            for (int k = 0; k < sections.length; k += 2) {
+                int first = sections[k];
+                int len = sections[k + 1];
                 for (int i = first; i < first + len; i++) {
+                    if (isDroppedFlushedReference(i)) {
+                        long offset = flushedOffsets[i];
+                        xrefStreamOutput.write(offset > 0 ? 1 : 2);
+                        xrefStreamOutput.write(Math.abs(offset), offsetSize);
+                        xrefStreamOutput.write(flushedGenerations[i], 2);
+                        continue;
+                    }
                     PdfIndirectReference reference = xrefTable.get(i);
                     if (reference.isFree()) {
-                        xrefStream.getOutputStream().write(0);
-                        xrefStream.getOutputStream().write(reference.getOffset(), offsetSize);
-                        xrefStream.getOutputStream().write(reference.getGenNumber(), 2);
+                        xrefStreamOutput.write(0);
+                        xrefStreamOutput.write(reference.getOffset(), offsetSize);
+                        xrefStreamOutput.write(reference.getGenNumber(), 2);
                     } else if (reference.getObjStreamNumber() == 0) {
-                        xrefStream.getOutputStream().write(1);
-                        xrefStream.getOutputStream().write(reference.getOffset(), offsetSize);
-                        xrefStream.getOutputStream().write(reference.getGenNumber(), 2);
+                        xrefStreamOutput.write(1);
+                        xrefStreamOutput.write(reference.getOffset(), offsetSize);
+                        xrefStreamOutput.write(reference.getGenNumber(), 2);
                     } else {
-                        xrefStream.getOutputStream().write(2);
-                        xrefStream.getOutputStream().write(reference.getObjStreamNumber(), offsetSize);
-                        xrefStream.getOutputStream().write(reference.getIndex(), 2);
+                        xrefStreamOutput.write(2);
+                        xrefStreamOutput.write(reference.getObjStreamNumber(), offsetSize);
+                        xrefStreamOutput.write(reference.getIndex(), 2);
                     }
                 }
             }
@@ -309,22 +371,25 @@ class PdfXrefTable implements Serializable {
                 // Get rid of all objects from object stream. This is done for hybrid documents
                 sections = createSections(document, true);
             }
-            for (int k = 0; k < sections.size(); k += 2) {
-                int first = (int) sections.get(k);
-                int len = (int) sections.get(k + 1);
+            byte[] entry = new byte[XREF_ENTRY_LENGTH];
+            entry[10] = (byte) ' ';
+            entry[16] = (byte) ' ';
+            entry[18] = (byte) ' ';
+            entry[19] = (byte) '\n';
+            for (int k = 0; k < sections.length; k += 2) {
+                int first = sections[k];
+                int len = sections[k + 1];
                 writer.writeInteger(first).writeSpace().writeInteger(len).writeByte((byte) '\n');
                 for (int i = first; i < first + len; i++) {
-                    PdfIndirectReference reference = xrefTable.get(i);
-
-                    StringBuilder off = new StringBuilder("0000000000").append(reference.getOffset());
-                    StringBuilder gen = new StringBuilder("00000").append(reference.getGenNumber());
-                    writer.writeString(off.substring(off.length() - 10, off.length())).writeSpace().
-                            writeString(gen.substring(gen.length() - 5, gen.length())).writeSpace();
-                    if (reference.isFree()) {
-                        writer.writeBytes(freeXRefEntry);
+                    if (isDroppedFlushedReference(i)) {
+                        long offset = flushedOffsets[i];
+                        // as for any reference in an object stream, its offset is -1
+                        fillXrefEntry(entry, offset > 0 ? offset : -1, offset > 0 ? flushedGenerations[i] : 0, false);
                     } else {
-                        writer.writeBytes(inUseXRefEntry);
+                        PdfIndirectReference reference = xrefTable.get(i);
+                        fillXrefEntry(entry, reference.getOffset(), reference.getGenNumber(), reference.isFree());
                     }
+                    writer.writeBytes(entry);
                 }
             }
             PdfDictionary trailer = document.getTrailer();
@@ -353,6 +418,9 @@ class PdfXrefTable implements Serializable {
                 writeLong(startxref).
                 writeString("\n%%EOF\n");
         xref = null;
+        flushedOffsets = null;
+        flushedGenerations = null;
+        flushedModified = null;
         freeReferencesLinkedList.clear();
     }
 
@@ -363,24 +431,38 @@ class PdfXrefTable implements Serializable {
             }
             xref[i] = null;
         }
+        if (flushedOffsets != null) {
+            Arrays.fill(flushedOffsets, 0);
+            flushedModified.clear();
+        }
         count = 1;
     }
 
-    private List<Integer> createSections(PdfDocument document, boolean dropObjectsFromObjectStream) {
-        List<Integer> sections = new ArrayList<>();
+    /**
+     * Splits the table into contiguous subsections of references that shall be written.
+     *
+     * @return flat array of (first object number, subsection length) pairs.
+     */
+    private int[] createSections(PdfDocument document, boolean dropObjectsFromObjectStream) {
+        int[] sections = new int[16];
+        int sectionsSize = 0;
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
-            if (document.properties.appendMode && reference != null &&
-                    (!reference.checkState(PdfObject.MODIFIED) || dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0)) {
-                reference = null;
+            boolean skip;
+            if (isDroppedFlushedReference(i)) {
+                skip = document.properties.appendMode
+                        && (!flushedModified.get(i) || dropObjectsFromObjectStream && flushedOffsets[i] < 0);
+            } else {
+                PdfIndirectReference reference = xref[i];
+                skip = reference == null || document.properties.appendMode
+                        && (!reference.checkState(PdfObject.MODIFIED) || dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0);
             }
 
-            if (reference == null) {
+            if (skip) {
                 if (len > 0) {
-                    sections.add(first);
-                    sections.add(len);
+                    sections = addSection(sections, sectionsSize, first, len);
+                    sectionsSize += 2;
                 }
                 len = 0;
             } else {
@@ -393,13 +475,37 @@ class PdfXrefTable implements Serializable {
             }
         }
         if (len > 0) {
-            sections.add(first);
-            sections.add(len);
+            sections = addSection(sections, sectionsSize, first, len);
+            sectionsSize += 2;
         }
 
+        return sectionsSize == sections.length ? sections : Arrays.copyOf(sections, sectionsSize);
+    }
+
+    private static int[] addSection(int[] sections, int sectionsSize, int first, int len) {
+        if (sectionsSize + 2 > sections.length) {
+            sections = Arrays.copyOf(sections, sections.length << 1);
+        }
+        sections[sectionsSize] = first;
+        sections[sectionsSize + 1] = len;
         return sections;
     }
 
+    /**
+     * Fills 20-byte cross-reference table entry in place: 10-digit offset, 5-digit generation and entry type.
+     */
+    private static void fillXrefEntry(byte[] entry, long offset, int genNr, boolean free) {
+        for (int i = 9; i >= 0; i--) {
+            entry[i] = (byte) ('0' + offset % 10);
+            offset /= 10;
+        }
+        for (int i = 15; i >= 11; i--) {
+            entry[i] = (byte) ('0' + genNr % 10);
+            genNr /= 10;
+        }
+        entry[17] = free ? (byte) 'f' : (byte) 'n';
+    }
+
     /**
      * Gets size of the offset. Max size is 2^40, i.e. 1 Tb.
      */
@@ -501,6 +607,27 @@ class PdfXrefTable implements Serializable {
         return freeRef;
     }
 
+    private boolean isDroppedFlushedReference(int objNr) {
+        return flushedOffsets != null && objNr < flushedOffsets.length && flushedOffsets[objNr] != 0 && xref[objNr] == null;
+    }
+
+    private PdfIndirectReference restoreFlushedReference(int objNr) {
+        long offset = flushedOffsets[objNr];
+        PdfIndirectReference reference;
+        if (offset > 0) {
+            reference = new PdfIndirectReference(flushedDocument, objNr, flushedGenerations[objNr], offset);
+        } else {
+            reference = new PdfIndirectReference(flushedDocument, objNr);
+            reference.setObjStreamNumber((int) -offset);
+            reference.setIndex(flushedGenerations[objNr]);
+        }
+        reference.setState(PdfObject.FLUSHED);
+        if (flushedModified.get(objNr)) {
+            reference.setState(PdfObject.MODIFIED);
+        }
+        return reference;
+    }
+
     private void ensureCount(int count) {
         if (count >= xref.length) {
             extendXref(count << 1);
@@ -511,5 +638,9 @@ class PdfXrefTable implements Serializable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(xref, 0, newXref, 0, xref.length);
         xref = newXref;
+        if (flushedOffsets != null) {
+            flushedOffsets = Arrays.copyOf(flushedOffsets, capacity);
+            flushedGenerations = Arrays.copyOf(flushedGenerations, capacity);
+        }
     }
 }
@@ -46,18 +46,43 @@ import java.util.Arrays;
 
 class SerializedObjectContent {
     private final byte[] serializedContent;
+    private final byte[] digest;
+    private final int length;
     private final int hash;
 
     SerializedObjectContent(byte[] serializedContent) {
         this.serializedContent = serializedContent;
+        this.digest = null;
+        this.length = serializedContent.length;
         this.hash = calculateHash(serializedContent);
     }
 
+    /**
+     * Creates the content key based on the hash of serialized content.
+     *
+     * @param digest            hash of the serialized content
+     * @param length            length of the serialized content
+     * @param serializedContent serialized content to compare on hash match, or {@code null}
+     *                          if equal hashes and lengths are treated as equal contents
+     */
+    SerializedObjectContent(byte[] digest, int length, byte[] serializedContent) {
+        this.serializedContent = serializedContent;
+        this.digest = digest;
+        this.length = length;
+        this.hash = calculateHash(digest) * 31 + length;
+    }
+
     @Override
     public boolean equals(Object obj) {
-        return obj instanceof SerializedObjectContent
-                && hashCode() == obj.hashCode()
-                && Arrays.equals(serializedContent, ((SerializedObjectContent) obj).serializedContent);
+        if (!(obj instanceof SerializedObjectContent) || hashCode() != obj.hashCode()) {
+            return false;
+        }
+        SerializedObjectContent other = (SerializedObjectContent) obj;
+        if (length != other.length || !Arrays.equals(digest, other.digest)) {
+            return false;
+        }
+        return serializedContent == null || other.serializedContent == null
+                || Arrays.equals(serializedContent, other.serializedContent);
     }
 
     @Override
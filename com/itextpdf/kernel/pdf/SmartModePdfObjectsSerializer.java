@@ -43,6 +43,7 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.util.MurmurHash3;
 import com.itextpdf.kernel.PdfException;
 
 import java.io.Serializable;
@@ -55,13 +56,34 @@ class SmartModePdfObjectsSerializer implements Serializable {
     private static final long serialVersionUID = 2502203520776244051L;
 
     private transient MessageDigest md5;
+    private final SmartModeHashAlgorithm hashAlgorithm;
+    private final boolean verifyOnHit;
     private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
 
+    private long lookupsCount;
+    private long hitsCount;
+
     SmartModePdfObjectsSerializer() {
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (Exception e) {
-            throw new PdfException(e);
+        this(SmartModeHashAlgorithm.MD5, false);
+    }
+
+    /**
+     * Creates the serializer.
+     *
+     * @param hashAlgorithm hash function used to fingerprint streams and, for non-MD5 functions,
+     *                      to build compact content keys
+     * @param verifyOnHit   if true, serialized content with raw bytes of all the streams is kept with compact keys
+     *                      and compared on hash match
+     */
+    SmartModePdfObjectsSerializer(SmartModeHashAlgorithm hashAlgorithm, boolean verifyOnHit) {
+        this.hashAlgorithm = hashAlgorithm;
+        this.verifyOnHit = verifyOnHit;
+        if (hashAlgorithm == SmartModeHashAlgorithm.MD5) {
+            try {
+                md5 = MessageDigest.getInstance("MD5");
+            } catch (Exception e) {
+                throw new PdfException(e);
+            }
         }
     }
 
@@ -71,11 +93,34 @@ class SmartModePdfObjectsSerializer implements Serializable {
 
     public PdfIndirectReference getSavedSerializedObject(SerializedObjectContent serializedContent) {
         if (serializedContent != null) {
-            return serializedContentToObj.get(serializedContent);
+            ++lookupsCount;
+            PdfIndirectReference savedObject = serializedContentToObj.get(serializedContent);
+            if (savedObject != null) {
+                ++hitsCount;
+            }
+            return savedObject;
         }
         return null;
     }
 
+    /**
+     * Gets the number of lookups of serialized objects among already copied ones.
+     *
+     * @return the number of lookups
+     */
+    long getLookupsCount() {
+        return lookupsCount;
+    }
+
+    /**
+     * Gets the number of lookups that found an already copied object with the same content.
+     *
+     * @return the number of reused objects
+     */
+    long getHitsCount() {
+        return hitsCount;
+    }
+
     public SerializedObjectContent serializeObject(PdfObject obj) {
         if (!obj.isStream() && !obj.isDictionary()) {
             return null;
@@ -88,13 +133,32 @@ class SmartModePdfObjectsSerializer implements Serializable {
         if (content == null) {
             ByteBuffer bb = new ByteBuffer();
             int level = 100;
-            serObject(obj, bb, level, serializedCache);
+            serObject(obj, bb, level, serializedCache, false);
             content = bb.toByteArray();
         }
-        return new SerializedObjectContent(content);
+        if (hashAlgorithm == SmartModeHashAlgorithm.MD5) {
+            return new SerializedObjectContent(content);
+        }
+        byte[] verifiedContent = null;
+        if (verifyOnHit) {
+            // streams are represented by their hashes in the cached content, so in order to
+            // tell apart colliding streams the content is serialized once more with raw stream bytes
+            ByteBuffer bb = new ByteBuffer();
+            serObject(obj, bb, 100, new HashMap<PdfIndirectReference, byte[]>(), true);
+            verifiedContent = bb.toByteArray();
+        }
+        return new SerializedObjectContent(digest(content), content.length, verifiedContent);
+    }
+
+    private byte[] digest(byte[] content) {
+        if (hashAlgorithm == SmartModeHashAlgorithm.MD5) {
+            return md5.digest(content);
+        }
+        return MurmurHash3.hash128(content);
     }
 
-    private void serObject(PdfObject obj, ByteBuffer bb, int level, Map<PdfIndirectReference, byte[]> serializedCache) {
+    private void serObject(PdfObject obj, ByteBuffer bb, int level, Map<PdfIndirectReference, byte[]> serializedCache,
+                           boolean rawStreamBytes) {
         if (level <= 0) {
             return;
         }
@@ -119,15 +183,20 @@ class SmartModePdfObjectsSerializer implements Serializable {
         }
 
         if (obj.isStream()) {
-            serDic((PdfDictionary) obj, bb, level - 1, serializedCache);
+            serDic((PdfDictionary) obj, bb, level - 1, serializedCache, rawStreamBytes);
             bb.append("$B");
             if (level > 0) {
-                bb.append(md5.digest(((PdfStream) obj).getBytes(false)));
+                byte[] streamBytes = ((PdfStream) obj).getBytes(false);
+                if (rawStreamBytes) {
+                    bb.append(String.valueOf(streamBytes.length)).append("$").append(streamBytes);
+                } else {
+                    bb.append(digest(streamBytes));
+                }
             }
         } else if (obj.isDictionary()) {
-            serDic((PdfDictionary) obj, bb, level - 1, serializedCache);
+            serDic((PdfDictionary) obj, bb, level - 1, serializedCache, rawStreamBytes);
         } else if (obj.isArray()) {
-            serArray((PdfArray) obj, bb, level - 1, serializedCache);
+            serArray((PdfArray) obj, bb, level - 1, serializedCache, rawStreamBytes);
         } else if (obj.isString()) {
             bb.append("$S").append(obj.toString()); // TODO specify length for strings, streams, may be names?
         } else if (obj.isName()) {
@@ -143,7 +212,7 @@ class SmartModePdfObjectsSerializer implements Serializable {
     }
 
     private void serDic(PdfDictionary dic, ByteBuffer bb, int level,
-                        Map<PdfIndirectReference, byte[]> serializedCache) {
+                        Map<PdfIndirectReference, byte[]> serializedCache, boolean rawStreamBytes) {
         bb.append("$D");
         if (level <= 0)
             return;
@@ -151,20 +220,20 @@ class SmartModePdfObjectsSerializer implements Serializable {
             if (isKeyRefersBack(dic, key)) {
                 continue;
             }
-            serObject(key, bb, level, serializedCache);
-            serObject(dic.get(key, false), bb, level, serializedCache);
+            serObject(key, bb, level, serializedCache, rawStreamBytes);
+            serObject(dic.get(key, false), bb, level, serializedCache, rawStreamBytes);
 
         }
         bb.append("$\\D");
     }
 
     private void serArray(PdfArray array, ByteBuffer bb, int level,
-                          Map<PdfIndirectReference, byte[]> serializedCache) {
+                          Map<PdfIndirectReference, byte[]> serializedCache, boolean rawStreamBytes) {
         bb.append("$A");
         if (level <= 0)
             return;
         for (int k = 0; k < array.size(); ++k) {
-            serObject(array.get(k, false), bb, level, serializedCache);
+            serObject(array.get(k, false), bb, level, serializedCache, rawStreamBytes);
         }
         bb.append("$\\A");
     }
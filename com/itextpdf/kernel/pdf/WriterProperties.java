@@ -52,6 +52,11 @@ public class WriterProperties implements Serializable {
 
     protected int compressionLevel;
 
+    /**
+     * Number of threads used to compress streams ahead of writing them. Zero means sequential compression.
+     */
+    protected int compressionThreadsCount;
+
     /**
      * Indicates if to use full compression (using object streams).
      */
@@ -62,6 +67,21 @@ public class WriterProperties implements Serializable {
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+
+    /**
+     * Hash function used to fingerprint objects in smart mode.
+     */
+    protected SmartModeHashAlgorithm smartModeHashAlgorithm;
+
+    /**
+     * Indicates if smart mode compares full serialized content of objects with equal hashes.
+     */
+    protected boolean smartModeVerifyOnHit;
+
+    /**
+     * Indicates if the cross-reference table keeps only offsets and generations of the flushed objects.
+     */
+    protected boolean compactXrefTable;
     protected boolean debugMode;
     protected boolean addXmpMetadata;
     protected boolean addUAXmpMetadata;
@@ -79,6 +99,8 @@ public class WriterProperties implements Serializable {
 
     public WriterProperties() {
         smartMode = false;
+        smartModeHashAlgorithm = SmartModeHashAlgorithm.MD5;
+        smartModeVerifyOnHit = false;
         debugMode = false;
         addUAXmpMetadata = false;
         compressionLevel = CompressionConstants.DEFAULT_COMPRESSION;
@@ -113,6 +135,35 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Defines the hash function used in smart mode to fingerprint streams and copied objects.
+     * Default value is {@link SmartModeHashAlgorithm#MD5}, which compares objects by their full serialized content.
+     * With {@link SmartModeHashAlgorithm#MURMUR3_128} only the 128-bit hash and the length of the serialized content
+     * are kept for each copied object, which considerably reduces both hashing time and memory consumption.
+     *
+     * @param hashAlgorithm {@link SmartModeHashAlgorithm} value
+     * @return this {@code WriterProperties} instance
+     * @see #useSmartMode()
+     */
+    public WriterProperties setSmartModeHashAlgorithm(SmartModeHashAlgorithm hashAlgorithm) {
+        this.smartModeHashAlgorithm = hashAlgorithm;
+        return this;
+    }
+
+    /**
+     * Defines if smart mode shall compare full serialized content of the objects which hashes are equal
+     * before reusing an already copied object. The compared content includes raw bytes of the object's
+     * streams and of the streams it refers to, which rules out hash collisions at the cost of keeping
+     * this content in memory. Has effect only for hash algorithms other than {@link SmartModeHashAlgorithm#MD5}.
+     *
+     * @param verifyOnHit true to compare full content on hash match
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties setSmartModeVerifyOnHit(boolean verifyOnHit) {
+        this.smartModeVerifyOnHit = verifyOnHit;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * For PDF 2.0 documents, metadata will be added in any case.
@@ -136,6 +187,21 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables compression of flushed streams on a pool of worker threads. When a page or a batch of waiting
+     * objects is flushed, contents of its streams are deflated in parallel and then written in the usual order,
+     * so the resultant document is byte-to-byte the same as the one produced with sequential compression.
+     * <br>
+     * Streams must not be modified after their flushing has been started.
+     *
+     * @param threadsCount number of worker threads, 0 or less disables parallel compression
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties setCompressionThreadsCount(int threadsCount) {
+        this.compressionThreadsCount = Math.max(0, threadsCount);
+        return this;
+    }
+
     /**
      * Defines if full compression mode is enabled. If enabled, not only the content of the pdf document will be
      * compressed, but also the pdf document inner structure.
@@ -224,6 +290,23 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables compact cross-reference table.
+     * <br>
+     * Once an object is flushed, its indirect reference is dropped from the cross-reference table
+     * and only its offset and generation are kept, so that the memory consumed by the table of a document
+     * with millions of flushed objects stays small. As a consequence {@link PdfDocument#getPdfObject(int)}
+     * returns {@code null} for the flushed objects, and {@link PdfDocument#listIndirectReferences()}
+     * returns new instances of their indirect references, which are equal to, but not the same as
+     * the references of the flushed objects.
+     *
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useCompactXrefTable() {
+        this.compactXrefTable = true;
+        return this;
+    }
+
     /**
      * This activates debug mode with pdfDebug tool.
      * It causes additional overhead of duplicating document bytes into memory, so use it careful.
@@ -2350,7 +2350,7 @@ public class PdfCanvas implements Serializable {
     private PdfCanvas addImage(PdfImageXObject image, float a, float b, float c, float d, float e, float f) {
         saveState();
         concatMatrix(a, b, c, d, e, f);
-        PdfName name = resources.addImage(image);
+        PdfName name = document != null ? resources.addImage(document, image) : resources.addImage(image);
         contentStream.getOutputStream().write(name).writeSpace().writeBytes(Do);
         restoreState();
         return this;
@@ -43,12 +43,23 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
 import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.utils.PageRange;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public final class PdfTextExtractor {
 
@@ -93,4 +104,133 @@ public final class PdfTextExtractor {
     public static String getTextFromPage(PdfPage page) {
         return getTextFromPage(page, new LocationTextExtractionStrategy());
     }
+
+    /**
+     * Extracts text from several pages of a document at once, processing the pages in parallel in the given pool.
+     * The fonts used by the pages are decoded once and shared between them.
+     * <p>
+     * The document must be opened for reading only, see {@link PdfDocument#getPage(int)}.
+     *
+     * @param pdfDocument     the document to extract text from
+     * @param pageRange       the pages to extract text from
+     * @param strategyFactory creates the extraction strategy for each page
+     * @param pool            the pool to process the pages in
+     * @return the extracted text of the pages, in the order of {@link PageRange#getQualifyingPageNums(int)}
+     */
+    public static List<String> getTextFromPages(PdfDocument pdfDocument, PageRange pageRange,
+                                                ITextExtractionStrategyFactory strategyFactory, ForkJoinPool pool) {
+        List<Integer> pageNumbers = pageRange.getQualifyingPageNums(pdfDocument.getNumberOfPages());
+        String[] texts = new String[pageNumbers.size()];
+        pool.invoke(new PagesTextExtraction(pdfDocument, pageNumbers, 0, texts.length, strategyFactory,
+                new ConcurrentHashMap<PdfIndirectReference, PdfFont>(), texts));
+        return Arrays.asList(texts);
+    }
+
+    /**
+     * Extracts text from several pages of a document at once, processing the pages in parallel
+     * with as many threads as there are available processors.
+     *
+     * @param pdfDocument     the document to extract text from
+     * @param pageRange       the pages to extract text from
+     * @param strategyFactory creates the extraction strategy for each page
+     * @return the extracted text of the pages, in the order of {@link PageRange#getQualifyingPageNums(int)}
+     * @see #getTextFromPages(PdfDocument, PageRange, ITextExtractionStrategyFactory, ForkJoinPool)
+     */
+    public static List<String> getTextFromPages(PdfDocument pdfDocument, PageRange pageRange,
+                                                ITextExtractionStrategyFactory strategyFactory) {
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            return getTextFromPages(pdfDocument, pageRange, strategyFactory, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Extracts text from several pages of a document at once using the default strategy.
+     *
+     * @param pdfDocument the document to extract text from
+     * @param pageRange   the pages to extract text from
+     * @return the extracted text of the pages, in the order of {@link PageRange#getQualifyingPageNums(int)}
+     * @see #getTextFromPages(PdfDocument, PageRange, ITextExtractionStrategyFactory, ForkJoinPool)
+     */
+    public static List<String> getTextFromPages(PdfDocument pdfDocument, PageRange pageRange) {
+        return getTextFromPages(pdfDocument, pageRange, new ITextExtractionStrategyFactory() {
+            @Override
+            public ITextExtractionStrategy createStrategy(int pageNumber) {
+                return new LocationTextExtractionStrategy();
+            }
+        });
+    }
+
+    /**
+     * Extracts text of a range of pages, splitting the range in halves until a single page is left.
+     */
+    private static class PagesTextExtraction extends RecursiveAction {
+        private static final long serialVersionUID = -4387297410938414137L;
+
+        private final PdfDocument pdfDocument;
+        private final List<Integer> pageNumbers;
+        private final int start;
+        private final int end;
+        private final ITextExtractionStrategyFactory strategyFactory;
+        private final ConcurrentMap<PdfIndirectReference, PdfFont> fonts;
+        private final String[] texts;
+
+        PagesTextExtraction(PdfDocument pdfDocument, List<Integer> pageNumbers, int start, int end,
+                            ITextExtractionStrategyFactory strategyFactory,
+                            ConcurrentMap<PdfIndirectReference, PdfFont> fonts, String[] texts) {
+            this.pdfDocument = pdfDocument;
+            this.pageNumbers = pageNumbers;
+            this.start = start;
+            this.end = end;
+            this.strategyFactory = strategyFactory;
+            this.fonts = fonts;
+            this.texts = texts;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                int pageNumber = (int) pageNumbers.get(start);
+                ITextExtractionStrategy strategy = strategyFactory.createStrategy(pageNumber);
+                new SharedFontsCanvasProcessor(strategy, fonts).processPageContent(pdfDocument.getPage(pageNumber));
+                texts[start] = strategy.getResultantText();
+            } else if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new PagesTextExtraction(pdfDocument, pageNumbers, start, middle, strategyFactory, fonts, texts),
+                        new PagesTextExtraction(pdfDocument, pageNumbers, middle, end, strategyFactory, fonts, texts));
+            }
+        }
+    }
+
+    /**
+     * A processor which takes fonts from a map shared by all the pages being processed,
+     * instead of decoding them again for every page.
+     */
+    private static class SharedFontsCanvasProcessor extends PdfCanvasProcessor {
+        private final ConcurrentMap<PdfIndirectReference, PdfFont> fonts;
+
+        SharedFontsCanvasProcessor(ITextExtractionStrategy strategy, ConcurrentMap<PdfIndirectReference, PdfFont> fonts) {
+            super(strategy);
+            this.fonts = fonts;
+        }
+
+        @Override
+        protected PdfFont getFont(PdfDictionary fontDict) {
+            PdfIndirectReference reference = fontDict.getIndirectReference();
+            if (reference == null) {
+                return super.getFont(fontDict);
+            }
+            PdfFont font = fonts.get(reference);
+            if (font == null) {
+                font = super.getFont(fontDict);
+                PdfFont existing = fonts.putIfAbsent(reference, font);
+                if (existing != null) {
+                    font = existing;
+                }
+            }
+            return font;
+        }
+    }
 }
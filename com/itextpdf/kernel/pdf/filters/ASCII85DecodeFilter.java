@@ -50,11 +50,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles ASCII85Decode filter
  */
-public class ASCII85DecodeFilter implements IFilterHandler {
+public class ASCII85DecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -62,6 +64,11 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new ASCII85DecodeInputStream(in);
+    }
+
     /**
      * Decodes the input bytes according to ASCII85.
      *
@@ -117,4 +124,67 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         }
         return out.toByteArray();
     }
+
+    private static class ASCII85DecodeInputStream extends DecodingInputStream {
+
+        private int state = 0;
+        private int[] chn = new int[5];
+
+        ASCII85DecodeInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        protected void decodeNext() throws IOException {
+            while (getDecodedCount() < CHUNK_SIZE) {
+                int ch = in.read();
+                if (ch < 0 || ch == '~') {
+                    writeTail();
+                    finish();
+                    return;
+                }
+                if (PdfTokenizer.isWhitespace(ch))
+                    continue;
+                if (ch == 'z' && state == 0) {
+                    write(0);
+                    write(0);
+                    write(0);
+                    write(0);
+                    continue;
+                }
+                if (ch < '!' || ch > 'u')
+                    throw new PdfException(PdfException.IllegalCharacterInAscii85decode);
+                chn[state] = ch - '!';
+                ++state;
+                if (state == 5) {
+                    state = 0;
+                    int r = 0;
+                    for (int j = 0; j < 5; ++j)
+                        r = r * 85 + chn[j];
+                    write(r >> 24);
+                    write(r >> 16);
+                    write(r >> 8);
+                    write(r);
+                }
+            }
+        }
+
+        private void writeTail() {
+            if (state == 2) {
+                int r = chn[0] * 85 * 85 * 85 * 85 + chn[1] * 85 * 85 * 85 + 85 * 85 * 85  + 85 * 85 + 85;
+                write(r >> 24);
+            }
+            else if (state == 3) {
+                int r = chn[0] * 85 * 85 * 85 * 85 + chn[1] * 85 * 85 * 85  + chn[2] * 85 * 85 + 85 * 85 + 85;
+                write(r >> 24);
+                write(r >> 16);
+            }
+            else if (state == 4) {
+                int r = chn[0] * 85 * 85 * 85 * 85 + chn[1] * 85 * 85 * 85  + chn[2] * 85 * 85  + chn[3] * 85 + 85;
+                write(r >> 24);
+                write(r >> 16);
+                write(r >> 8);
+            }
+        }
+    }
 }
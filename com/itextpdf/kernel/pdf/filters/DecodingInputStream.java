@@ -0,0 +1,176 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The base class for the streams which decode the data of a wrapped stream chunk by chunk.
+ */
+abstract class DecodingInputStream extends InputStream {
+
+    /**
+     * The approximate amount of bytes decoded at once.
+     */
+    static final int CHUNK_SIZE = 8192;
+
+    /**
+     * The stream of the encoded data.
+     */
+    protected final InputStream in;
+
+    private byte[] buffer = new byte[CHUNK_SIZE];
+    private int position;
+    private int count;
+    private boolean finished;
+
+    /**
+     * Creates a stream decoding the data of the given stream.
+     *
+     * @param in the stream of the encoded data
+     */
+    protected DecodingInputStream(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Decodes the next chunk of the data with {@link #write(int)} and {@link #write(byte[], int, int)}.
+     * Shall call {@link #finish()} when there is no more data to decode.
+     *
+     * @throws IOException on error
+     */
+    protected abstract void decodeNext() throws IOException;
+
+    /**
+     * Appends a decoded byte.
+     *
+     * @param b the byte
+     */
+    protected final void write(int b) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    /**
+     * Appends decoded bytes.
+     *
+     * @param b   the bytes
+     * @param off the offset of the first byte to append
+     * @param len the number of bytes to append
+     */
+    protected final void write(byte[] b, int off, int len) {
+        ensureCapacity(len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    /**
+     * Gets the number of decoded bytes which have not been read yet.
+     *
+     * @return the number of decoded bytes
+     */
+    protected final int getDecodedCount() {
+        return count - position;
+    }
+
+    /**
+     * Marks the end of the decoded data.
+     */
+    protected final void finish() {
+        finished = true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, count - position);
+        System.arraycopy(buffer, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return count - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean fill() throws IOException {
+        while (position == count) {
+            if (finished) {
+                return false;
+            }
+            position = 0;
+            count = 0;
+            decodeNext();
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int len) {
+        if (count + len > buffer.length) {
+            byte[] newBuffer = new byte[Math.max(buffer.length << 1, count + len)];
+            System.arraycopy(buffer, 0, newBuffer, 0, count);
+            buffer = newBuffer;
+        }
+    }
+}
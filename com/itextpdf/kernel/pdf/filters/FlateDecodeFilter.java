@@ -51,14 +51,14 @@ import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.zip.InflaterInputStream;
 
 /**
  * Handles FlateDecode filter.
  */
-public class FlateDecodeFilter implements IFilterHandler {
+public class FlateDecodeFilter implements IStreamingFilterHandler {
 
     /**
      * Defines how the corrupted streams should be treated.
@@ -111,6 +111,18 @@ public class FlateDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the decoder is not strict, a corrupted stream ends at the point where the corruption is found,
+     * the bytes inflated by the failed read are lost.
+     * Otherwise reading a corrupted stream throws {@link IOException}.
+     */
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return decodePredictor(new FlateDecodeInputStream(in, strictDecoding), decodeParams);
+    }
+
     /**
      * A helper to flateDecode.
      *
@@ -165,8 +177,6 @@ public class FlateDecodeFilter implements IFilterHandler {
         obj = dic.get(PdfName.BitsPerComponent);
         if (obj != null && obj.getType() == PdfObject.NUMBER)
             bpc = ((PdfNumber) obj).intValue();
-        DataInputStream dataStream = new DataInputStream(new ByteArrayInputStream(in));
-        ByteArrayOutputStream fout = new ByteArrayOutputStream(in.length);
         int bytesPerPixel = colors * bpc / 8;
         int bytesPerRow = (colors * width * bpc + 7) / 8;
         byte[] curr = new byte[bytesPerRow];
@@ -183,83 +193,201 @@ public class FlateDecodeFilter implements IFilterHandler {
             }
             return in;
         }
-        // Decode the (sub)image row-by-row
-        while (true) {
-            // Read the filter type byte and a row of data
-            int filter;
-            try {
-                filter = dataStream.read();
-                if (filter < 0) {
-                    return fout.toByteArray();
+        // Decode the (sub)image row-by-row, an incomplete last row is dropped
+        int numRows = in.length / (bytesPerRow + 1);
+        byte[] out = new byte[numRows * bytesPerRow];
+        for (int row = 0; row < numRows; row++) {
+            // The filter type byte is followed by a row of data
+            int rowStart = row * (bytesPerRow + 1);
+            int filter = in[rowStart] & 0xff;
+            System.arraycopy(in, rowStart + 1, curr, 0, bytesPerRow);
+
+            decodePngRow(filter, curr, prior, bytesPerRow, bytesPerPixel);
+            System.arraycopy(curr, 0, out, row * bytesPerRow, bytesPerRow);
+
+            // Swap curr and prior
+            byte[] tmp = prior;
+            prior = curr;
+            curr = tmp;
+        }
+        return out;
+    }
+
+    /**
+     * Wraps the stream into a stream which applies the predictor specified by the decode parameters.
+     *
+     * @param in           the stream of the data to be decoded
+     * @param decodeParams PdfDictionary of decodeParams.
+     * @return the stream of the decoded data, or {@code in} if no predictor is specified
+     */
+    public static InputStream decodePredictor(InputStream in, PdfObject decodeParams) {
+        if (decodeParams == null || decodeParams.getType() != PdfObject.DICTIONARY)
+            return in;
+        PdfDictionary dic = (PdfDictionary) decodeParams;
+        PdfObject obj = dic.get(PdfName.Predictor);
+        if (obj == null || obj.getType() != PdfObject.NUMBER)
+            return in;
+        int predictor = ((PdfNumber) obj).intValue();
+        if (predictor < 10 && predictor != 2)
+            return in;
+        int width = 1;
+        obj = dic.get(PdfName.Columns);
+        if (obj != null && obj.getType() == PdfObject.NUMBER)
+            width = ((PdfNumber) obj).intValue();
+        int colors = 1;
+        obj = dic.get(PdfName.Colors);
+        if (obj != null && obj.getType() == PdfObject.NUMBER)
+            colors = ((PdfNumber) obj).intValue();
+        int bpc = 8;
+        obj = dic.get(PdfName.BitsPerComponent);
+        if (obj != null && obj.getType() == PdfObject.NUMBER)
+            bpc = ((PdfNumber) obj).intValue();
+        if (predictor == 2 && bpc != 8)
+            return in;
+        return new PredictorInputStream(in, predictor == 2, colors * bpc / 8, (colors * width * bpc + 7) / 8);
+    }
+
+    private static void decodePngRow(int filter, byte[] curr, byte[] prior, int bytesPerRow, int bytesPerPixel) {
+        switch (filter) {
+            case 0: //PNG_FILTER_NONE
+                break;
+            case 1: //PNG_FILTER_SUB
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += curr[i - bytesPerPixel];
+                }
+                break;
+            case 2: //PNG_FILTER_UP
+                for (int i = 0; i < bytesPerRow; i++) {
+                    curr[i] += prior[i];
+                }
+                break;
+            case 3: //PNG_FILTER_AVERAGE
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += (byte) ((prior[i] & 0xff) >>> 1);
+                }
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) >>> 1);
+                }
+                break;
+            case 4: //PNG_FILTER_PAETH
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += prior[i];
                 }
-                dataStream.readFully(curr, 0, bytesPerRow);
-            } catch (Exception e) {
-                return fout.toByteArray();
-            }
 
-            switch (filter) {
-                case 0: //PNG_FILTER_NONE
-                    break;
-                case 1: //PNG_FILTER_SUB
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += curr[i - bytesPerPixel];
-                    }
-                    break;
-                case 2: //PNG_FILTER_UP
-                    for (int i = 0; i < bytesPerRow; i++) {
-                        curr[i] += prior[i];
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    int a = curr[i - bytesPerPixel] & 0xff;
+                    int b = prior[i] & 0xff;
+                    int c = prior[i - bytesPerPixel] & 0xff;
+
+                    // pa = |p - a|, pb = |p - b|, pc = |p - c| for p = a + b - c
+                    int pa = Math.abs(b - c);
+                    int pb = Math.abs(a - c);
+                    int pc = Math.abs(a + b - c - c);
+
+                    int ret;
+
+                    if (pa <= pb && pa <= pc) {
+                        ret = a;
+                    } else if (pb <= pc) {
+                        ret = b;
+                    } else {
+                        ret = c;
                     }
-                    break;
-                case 3: //PNG_FILTER_AVERAGE
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += (byte) (prior[i] / 2);
+                    curr[i] += (byte) ret;
+                }
+                break;
+            default:
+                // Error -- unknown filter type
+                throw new PdfException(PdfException.PngFilterUnknown);
+        }
+    }
+
+    private static class FlateDecodeInputStream extends InflaterInputStream {
+
+        private final boolean strict;
+        private boolean corrupted;
+
+        FlateDecodeInputStream(InputStream in, boolean strict) {
+            super(in);
+            this.strict = strict;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (corrupted) {
+                return -1;
+            }
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                if (strict)
+                    throw e;
+                corrupted = true;
+                return -1;
+            }
+        }
+    }
+
+    private static class PredictorInputStream extends DecodingInputStream {
+
+        private final boolean tiff;
+        private final int bytesPerPixel;
+        private final int bytesPerRow;
+        private byte[] curr;
+        private byte[] prior;
+
+        PredictorInputStream(InputStream in, boolean tiff, int bytesPerPixel, int bytesPerRow) {
+            super(in);
+            this.tiff = tiff;
+            this.bytesPerPixel = bytesPerPixel;
+            this.bytesPerRow = bytesPerRow;
+            this.curr = new byte[bytesPerRow];
+            this.prior = new byte[bytesPerRow];
+        }
+
+        @Override
+        protected void decodeNext() throws IOException {
+            while (getDecodedCount() < CHUNK_SIZE) {
+                if (tiff) {
+                    int n = readRow();
+                    if (n == 0 || n < bytesPerRow) {
+                        // the incomplete last row is left as it is
+                        write(curr, 0, n);
+                        finish();
+                        return;
                     }
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2);
+                    for (int col = bytesPerPixel; col < bytesPerRow; col++) {
+                        curr[col] = (byte) (curr[col] + curr[col - bytesPerPixel]);
                     }
-                    break;
-                case 4: //PNG_FILTER_PAETH
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += prior[i];
+                    write(curr, 0, bytesPerRow);
+                } else {
+                    // Read the filter type byte and a row of data
+                    int filter = in.read();
+                    if (filter < 0 || readRow() < bytesPerRow) {
+                        finish();
+                        return;
                     }
+                    decodePngRow(filter, curr, prior, bytesPerRow, bytesPerPixel);
+                    write(curr, 0, bytesPerRow);
 
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        int a = curr[i - bytesPerPixel] & 0xff;
-                        int b = prior[i] & 0xff;
-                        int c = prior[i - bytesPerPixel] & 0xff;
-
-                        int p = a + b - c;
-                        int pa = Math.abs(p - a);
-                        int pb = Math.abs(p - b);
-                        int pc = Math.abs(p - c);
-
-                        int ret;
-
-                        if (pa <= pb && pa <= pc) {
-                            ret = a;
-                        } else if (pb <= pc) {
-                            ret = b;
-                        } else {
-                            ret = c;
-                        }
-                        curr[i] += (byte) ret;
-                    }
-                    break;
-                default:
-                    // Error -- unknown filter type
-                    throw new PdfException(PdfException.PngFilterUnknown);
-            }
-            try {
-                fout.write(curr);
-            } catch (IOException ioe) {
-                // Never happens
-                assert true : "Happens!";
+                    // Swap curr and prior
+                    byte[] tmp = prior;
+                    prior = curr;
+                    curr = tmp;
+                }
             }
+        }
 
-            // Swap curr and prior
-            byte[] tmp = prior;
-            prior = curr;
-            curr = tmp;
+        private int readRow() throws IOException {
+            int n = 0;
+            while (n < bytesPerRow) {
+                int count = in.read(curr, n, bytesPerRow - n);
+                if (count < 0) {
+                    break;
+                }
+                n += count;
+            }
+            return n;
         }
     }
 }
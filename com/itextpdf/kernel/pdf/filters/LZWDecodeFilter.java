@@ -43,16 +43,20 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
 
 /**
  * Handles LZWDECODE filter
  */
-public class LZWDecodeFilter implements IFilterHandler {
+public class LZWDecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -61,6 +65,11 @@ public class LZWDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return FlateDecodeFilter.decodePredictor(new LZWDecodeInputStream(in), decodeParams);
+    }
+
     /**
      * Decodes a byte[] according to the LZW encoding.
      *
@@ -73,4 +82,113 @@ public class LZWDecodeFilter implements IFilterHandler {
         lzw.decode(in, out);
         return out.toByteArray();
     }
+
+    private static class LZWDecodeInputStream extends DecodingInputStream {
+
+        private final PushbackInputStream data;
+        /** Holds the string table, see {@link LZWDecoder}. */
+        private LZWDecoder table;
+        private int oldCode = 0;
+        private int nextData = 0;
+        private int nextBits = 0;
+
+        LZWDecodeInputStream(InputStream in) {
+            super(in);
+            this.data = new PushbackInputStream(in, 2);
+        }
+
+        @Override
+        protected void decodeNext() throws IOException {
+            if (table == null) {
+                checkFlavour();
+                table = new LZWDecoder();
+                table.initializeStringTable();
+            }
+            byte[] string;
+            while (getDecodedCount() < CHUNK_SIZE) {
+                int code = getNextCode();
+                if (code == 257) {
+                    finish();
+                    return;
+                }
+                if (code == 256) {
+
+                    table.initializeStringTable();
+                    code = getNextCode();
+
+                    if (code == 257) {
+                        finish();
+                        return;
+                    }
+
+                    writeString(table.stringTable[code]);
+                    oldCode = code;
+
+                } else {
+
+                    if (code < table.tableIndex) {
+
+                        string = table.stringTable[code];
+
+                        writeString(string);
+                        table.addStringToTable(table.stringTable[oldCode], string[0]);
+                        oldCode = code;
+
+                    } else {
+
+                        string = table.stringTable[oldCode];
+                        string = table.composeString(string, string[0]);
+                        writeString(string);
+                        table.addStringToTable(string);
+                        oldCode = code;
+                    }
+                }
+            }
+        }
+
+        private void checkFlavour() throws IOException {
+            byte[] head = new byte[2];
+            int n = 0;
+            while (n < head.length) {
+                int count = data.read(head, n, head.length - n);
+                if (count < 0) {
+                    break;
+                }
+                n += count;
+            }
+            if (n == 2 && head[0] == (byte)0x00 && head[1] == (byte)0x01) {
+                throw new PdfException(PdfException.LzwFlavourNotSupported);
+            }
+            data.unread(head, 0, n);
+        }
+
+        private void writeString(byte[] string) {
+            write(string, 0, string.length);
+        }
+
+        // Returns the next 9, 10, 11 or 12 bits, or EndOfInformation code if the data ends unexpectedly
+        private int getNextCode() throws IOException {
+            int b = data.read();
+            if (b < 0) {
+                return 257;
+            }
+            nextData = (nextData << 8) | b;
+            nextBits += 8;
+
+            if (nextBits < table.bitsToGet) {
+                b = data.read();
+                if (b < 0) {
+                    return 257;
+                }
+                nextData = (nextData << 8) | b;
+                nextBits += 8;
+            }
+
+            int code =
+                    (nextData >> (nextBits - table.bitsToGet)) & table.andTable[table.bitsToGet-9];
+            nextBits -= table.bitsToGet;
+
+            return code;
+        }
+    }
 }
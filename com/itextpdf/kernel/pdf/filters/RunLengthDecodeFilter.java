@@ -48,11 +48,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles RunLengthDecode filter.
  */
-public class RunLengthDecodeFilter implements IFilterHandler {
+public class RunLengthDecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -76,4 +78,54 @@ public class RunLengthDecodeFilter implements IFilterHandler {
         }
         return baos.toByteArray();
     }
+
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new RunLengthDecodeInputStream(in);
+    }
+
+    private static class RunLengthDecodeInputStream extends DecodingInputStream {
+
+        private byte[] literal = new byte[128];
+
+        RunLengthDecodeInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        protected void decodeNext() throws IOException {
+            while (getDecodedCount() < CHUNK_SIZE) {
+                int dupCount = in.read();
+                if (dupCount < 0 || dupCount == 0x80) { // this is implicit end of data
+                    finish();
+                    return;
+                }
+                if ((dupCount & 0x80) == 0) {
+                    int bytesToCopy = dupCount + 1;
+                    int n = 0;
+                    while (n < bytesToCopy) {
+                        int count = in.read(literal, n, bytesToCopy - n);
+                        if (count < 0) {
+                            break;
+                        }
+                        n += count;
+                    }
+                    write(literal, 0, n);
+                    if (n < bytesToCopy) {
+                        finish();
+                        return;
+                    }
+                } else {                // make dupcount copies of the next byte
+                    int b = in.read();
+                    if (b < 0) {
+                        finish();
+                        return;
+                    }
+                    for (int j = 0; j < 257 - dupCount; j++) {
+                        write(b);
+                    }
+                }
+            }
+        }
+    }
 }
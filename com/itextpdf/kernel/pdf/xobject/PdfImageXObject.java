@@ -98,6 +98,7 @@ public class PdfImageXObject extends PdfXObject {
     private byte[] palette;
     private byte[] icc;
     private int stride;
+    private transient ImageData image;
 
     /**
      * Creates Image XObject by image.
@@ -118,6 +119,11 @@ public class PdfImageXObject extends PdfXObject {
         this(createPdfStream(checkImageType(image), imageMask));
         mask = image.isMask();
         softMask = image.isSoftMask();
+        width = image.getWidth();
+        height = image.getHeight();
+        if (imageMask == null) {
+            this.image = image;
+        }
     }
 
     /**
@@ -175,6 +181,16 @@ public class PdfImageXObject extends PdfXObject {
         }
     }
 
+    /**
+     * Gets the image data this image XObject was created from.
+     *
+     * @return the image data, or {@code null} if the image XObject was not created from {@link ImageData}
+     * or was created with an explicit image mask.
+     */
+    public ImageData getImageData() {
+        return image;
+    }
+
     /**
      * Copy Image XObject to the specified document.
      *
@@ -323,7 +339,10 @@ public class PdfImageXObject extends PdfXObject {
     private static PdfStream createPdfStream(ImageData image, PdfImageXObject imageMask) {
         PdfStream stream;
         if (image.getOriginalType() == ImageType.RAW) {
-            RawImageHelper.updateImageAttributes((RawImageData) image, null);
+            // the same image data may be added to several documents generated concurrently
+            synchronized (image) {
+                RawImageHelper.updateImageAttributes((RawImageData) image, null);
+            }
         }
         stream = new PdfStream(image.getData());
         String filter = image.getFilter();
@@ -65,6 +65,15 @@ import com.itextpdf.layout.renderer.RootRenderer;
  * A {@link Document}'s rendering behavior can be modified by extending
  * {@link DocumentRenderer} and setting an instance of this newly created with
  * {@link #setRenderer(com.itextpdf.layout.renderer.DocumentRenderer) }.
+ * <p>
+ * A {@link Document} and everything created for it, e.g. {@link com.itextpdf.kernel.font.PdfFont}s
+ * and {@link com.itextpdf.layout.font.FontProvider}, shall be used by one thread at a time.
+ * Several documents may be generated concurrently, one per thread. They may share the objects
+ * which are independent of a {@link com.itextpdf.kernel.pdf.PdfDocument}:
+ * {@link com.itextpdf.io.font.FontProgram}s, which are cached by {@link com.itextpdf.io.font.FontProgramFactory},
+ * a filled {@link com.itextpdf.layout.font.FontSet} passed to a new {@link com.itextpdf.layout.font.FontProvider}
+ * of each document and {@link com.itextpdf.io.image.ImageData}.
+ * Layout elements shall not be shared, because their renderers are bound to a document.
  */
 public class Document extends RootElement<Document> {
 
@@ -56,6 +56,7 @@ import com.itextpdf.layout.property.BorderRadius;
 import com.itextpdf.layout.property.FontKerning;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.TextAlignment;
 import com.itextpdf.layout.property.TransparentColor;
 import com.itextpdf.layout.property.Underline;
@@ -63,7 +64,6 @@ import com.itextpdf.layout.property.UnitValue;
 import com.itextpdf.layout.splitting.ISplitCharacters;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -75,11 +75,15 @@ import java.util.Map;
  */
 public abstract class ElementPropertyContainer<T extends IPropertyContainer> implements IPropertyContainer {
 
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
 
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).put(property, value);
+        } else {
+            properties.put(property, value);
+        }
     }
 
     @Override
@@ -89,12 +93,19 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> imp
 
     @Override
     public boolean hasOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return ((PropertyMap) properties).containsKey(property);
+        }
         return properties.containsKey(property);
     }
 
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).remove(property);
+        } else {
+            properties.remove(property);
+        }
     }
 
     @Override
@@ -104,6 +115,9 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> imp
 
     @Override
     public <T1> T1 getOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return (T1) ((PropertyMap) properties).get(property);
+        }
         return (T1) properties.<T1>get(property);
     }
 
@@ -124,6 +138,18 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> imp
         }
     }
 
+    /**
+     * Gets the number of modifications of the properties of this element. The number changes whenever
+     * a property is set or deleted, so the renderers can check that the element has not been changed
+     * since they were laid out.
+     *
+     * @return the number of modifications of the properties, or -1 if the properties are not stored
+     * in a {@link PropertyMap}, so the modifications are not counted
+     */
+    public int getPropertiesModificationCount() {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).getModificationCount() : -1;
+    }
+
     /**
      * Sets values for a relative repositioning of the Element. Also has as a
      * side effect that the Element's {@link Property#POSITION} is changed to
@@ -0,0 +1,230 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.BlockElement;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.renderer.DrawContext;
+import com.itextpdf.layout.renderer.IRenderer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lays out {@link BlockElement}s once into {@link PdfFormXObject}s, which can then be placed any number of times.
+ * <p>
+ * Blocks which are repeated unchanged over the document, e.g. a header on every page, are normally laid out
+ * and drawn again each time they are added. A template is laid out and drawn only once, for the given width, and
+ * every placement of it costs a single {@code Do} operator in the content stream of the page.
+ * The properties inherited by the element, e.g. the font, are taken from the {@link Document}
+ * at the moment the template is created.
+ * <p>
+ * A template is an {@link Image}, so it is never split between pages. The element must not be modified after
+ * its template has been created, because the cached template would not reflect the change.
+ * In tagged documents the template is tagged as a single figure.
+ * <p>
+ * Links and destinations can not be a part of a template: they are bound to the page the template is drawn on
+ * rather than to the pages it is placed on, so such elements are rejected.
+ */
+public class LayoutTemplateCache {
+
+    /**
+     * The maximum height of a template, the maximum page size allowed by PDF.
+     */
+    private static final float MAX_TEMPLATE_HEIGHT = 14400;
+
+    private final Document document;
+    private final Map<TemplateKey, PdfFormXObject> templates = new HashMap<>();
+    private long hitsCount;
+    private long missesCount;
+
+    /**
+     * Creates a new template cache for the document.
+     *
+     * @param document the document the templates will be added to
+     */
+    public LayoutTemplateCache(Document document) {
+        this.document = document;
+    }
+
+    /**
+     * Gets the template of the element for the given width, laying it out on the first request.
+     *
+     * @param element the element to be laid out
+     * @param width   the width available to the element, e.g. the width of the page minus the margins
+     * @return a new {@link Image} which places the template, it may be added to the document like any other element
+     * @throws IllegalArgumentException if the element does not fit into a single template
+     *                                  or contains a link annotation or a destination
+     */
+    public Image getTemplate(BlockElement<?> element, float width) {
+        return new Image(getFormXObject(element, width));
+    }
+
+    /**
+     * Gets the form XObject the element has been laid out to, laying it out on the first request.
+     * The bounding box of the form is {@code [0 0 width height]}, where height is the height of the
+     * area occupied by the element, margins included.
+     *
+     * @param element the element to be laid out
+     * @param width   the width available to the element
+     * @return the form XObject with the element drawn on it
+     * @throws IllegalArgumentException if the element does not fit into a single template
+     *                                  or contains a link annotation or a destination
+     */
+    public PdfFormXObject getFormXObject(BlockElement<?> element, float width) {
+        TemplateKey key = new TemplateKey(element, width);
+        PdfFormXObject template = templates.get(key);
+        if (template != null) {
+            hitsCount++;
+            return template;
+        }
+        missesCount++;
+        template = createFormXObject(element, width);
+        templates.put(key, template);
+        return template;
+    }
+
+    /**
+     * Gets the number of requests which were served by an already created template.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitsCount() {
+        return hitsCount;
+    }
+
+    /**
+     * Gets the number of requests which required an element to be laid out.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissesCount() {
+        return missesCount;
+    }
+
+    private PdfFormXObject createFormXObject(BlockElement<?> element, float width) {
+        PdfFormXObject formXObject = new PdfFormXObject(new Rectangle(width, MAX_TEMPLATE_HEIGHT));
+        TemplateCanvas canvas = new TemplateCanvas(formXObject, document);
+        IRenderer renderer = element.createRendererSubTree().setParent(canvas.getRenderer());
+        checkNoPageBoundProperties(renderer);
+        LayoutResult result = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(width, MAX_TEMPLATE_HEIGHT))));
+        if (result.getStatus() != LayoutResult.FULL) {
+            throw new IllegalArgumentException("The element does not fit into a single template.");
+        }
+        Rectangle occupiedArea = result.getOccupiedArea().getBBox();
+        // move the content to the origin of the form, so that the bounding box starts at (0, 0)
+        renderer.move(0, -occupiedArea.getBottom());
+        renderer.draw(new DrawContext(document.getPdfDocument(), canvas.getPdfCanvas(), false));
+        formXObject.setBBox(new PdfArray(new Rectangle(width, occupiedArea.getHeight())));
+        return formXObject;
+    }
+
+    private static void checkNoPageBoundProperties(IRenderer renderer) {
+        if (renderer.getProperty(Property.LINK_ANNOTATION) != null || renderer.getProperty(Property.DESTINATION) != null) {
+            throw new IllegalArgumentException("Link annotations and destinations can not be a part of a template.");
+        }
+        for (IRenderer child : renderer.getChildRenderers()) {
+            checkNoPageBoundProperties(child);
+        }
+    }
+
+    /**
+     * The root of the template renderers, it takes the properties from the document,
+     * except for the tagging helper: templates are tagged only as a whole.
+     */
+    private static final class TemplateCanvas extends Canvas {
+        private final Document document;
+
+        TemplateCanvas(PdfFormXObject formXObject, Document document) {
+            super(formXObject, document.getPdfDocument());
+            this.document = document;
+        }
+
+        @Override
+        public boolean hasProperty(int property) {
+            return property != Property.TAGGING_HELPER && document.hasProperty(property);
+        }
+
+        @Override
+        public <T1> T1 getProperty(int property) {
+            return property == Property.TAGGING_HELPER ? null : document.<T1>getProperty(property);
+        }
+
+        @Override
+        public <T1> T1 getDefaultProperty(int property) {
+            return property == Property.TAGGING_HELPER ? null : document.<T1>getDefaultProperty(property);
+        }
+    }
+
+    private static final class TemplateKey {
+        private final BlockElement<?> element;
+        private final float width;
+
+        TemplateKey(BlockElement<?> element, float width) {
+            this.element = element;
+            this.width = width;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(element) + Float.floatToIntBits(width);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TemplateKey)) {
+                return false;
+            }
+            TemplateKey other = (TemplateKey) obj;
+            return element == other.element && Float.floatToIntBits(width) == Float.floatToIntBits(other.width);
+        }
+    }
+}
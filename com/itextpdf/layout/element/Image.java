@@ -54,6 +54,7 @@ import com.itextpdf.layout.tagging.IAccessibleElement;
 import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.kernel.pdf.xobject.PdfXObject;
+import com.itextpdf.layout.property.ImageDownsampling;
 import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.layout.LayoutPosition;
 import com.itextpdf.layout.property.UnitValue;
@@ -510,6 +511,28 @@ public class Image extends AbstractElement<Image> implements ILeafElement, IAcce
         return this;
     }
 
+    /**
+     * Sets the resolution the image is downsampled to, if it has a higher resolution for its size on the page.
+     * The image is compressed as JPEG with the {@link ImageDownsampling#DEFAULT_QUALITY default quality}.
+     *
+     * @param resolution the resolution in pixels per inch
+     * @return this image
+     */
+    public Image setDownsampling(float resolution) {
+        return setDownsampling(new ImageDownsampling(resolution));
+    }
+
+    /**
+     * Sets how the image is downsampled, if it has a higher resolution than needed for its size on the page.
+     *
+     * @param downsampling the {@link ImageDownsampling} settings, or {@code null} to keep the image as is
+     * @return this image
+     */
+    public Image setDownsampling(ImageDownsampling downsampling) {
+        setProperty(Property.IMAGE_DOWNSAMPLING, downsampling);
+        return this;
+    }
+
     /**
      * Sets values for a absolute repositioning of the Element. Also has as a
      * side effect that the Element's {@link Property#POSITION} is changed to
@@ -48,6 +48,7 @@ import com.itextpdf.kernel.pdf.tagging.StandardRoles;
 import com.itextpdf.kernel.pdf.tagutils.AccessibilityProperties;
 import com.itextpdf.kernel.pdf.tagutils.DefaultAccessibilityProperties;
 import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.property.BorderCollapsePropertyValue;
 import com.itextpdf.layout.property.Property;
@@ -58,6 +59,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -87,6 +89,11 @@ public class Table extends BlockElement<Table> implements ILargeElement {
     private int rowWindowStart = 0;
     private Document document;
     private Cell[] lastAddedRow;
+    // Column widths calculated by the sampled auto layout, see #setAutoLayout(int).
+    // For large tables they are calculated for the first flushed part and reused for the following ones
+    // laid out for the same available width.
+    private float[] sampledColumnWidths;
+    private float sampledColumnWidthsAvailableWidth;
 
     /**
      * Constructs a {@code Table} with the preferable column widths.
@@ -299,6 +306,30 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         return this;
     }
 
+    /**
+     * Set auto layout, which calculates the min and max widths of the columns only from the cells of the
+     * header, the footer and the first {@code sampleRows} body rows. See {@link #setAutoLayout()}
+     * for the algorithm; the column widths passed to the constructor are still taken into account,
+     * so they can be used as a hint for the columns the sample is not representative for.
+     * <p>
+     * The remaining rows are laid out into the calculated columns without being measured,
+     * so the layout of a table with many rows does not measure every cell twice.
+     * Unlike {@link #setAutoLayout()}, sampled auto layout is supported by large tables:
+     * the columns are calculated for the rows added before the first {@link #flush()}
+     * and kept for the rest of the table.
+     *
+     * @param sampleRows the number of body rows to measure, must be greater than zero
+     * @return this element.
+     */
+    public Table setAutoLayout(int sampleRows) {
+        if (sampleRows <= 0) {
+            throw new IllegalArgumentException("The number of sample rows must be greater than zero.");
+        }
+        setProperty(Property.TABLE_LAYOUT, "auto");
+        setProperty(Property.TABLE_LAYOUT_SAMPLE_ROWS, sampleRows);
+        return this;
+    }
+
     /**
      * Set {@link Property#WIDTH} = 100%.
      *
@@ -319,6 +350,30 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         return columnWidths[column];
     }
 
+    /**
+     * Gets the column widths calculated by the sampled auto layout of the table, see {@link #setAutoLayout(int)}.
+     * This is a method for internal usage.
+     *
+     * @param availableWidth the width available to the table
+     * @return the column widths in points, or {@code null} if they have not been calculated yet
+     * or have been calculated for another available width
+     */
+    public float[] getSampledColumnWidths(float availableWidth) {
+        return sampledColumnWidthsAvailableWidth == availableWidth ? sampledColumnWidths : null;
+    }
+
+    /**
+     * Sets the column widths calculated by the sampled auto layout of the table.
+     * This is a method for internal usage and is called automatically by the renderer.
+     *
+     * @param sampledColumnWidths the column widths in points
+     * @param availableWidth      the width available to the table the column widths have been calculated for
+     */
+    public void setSampledColumnWidths(float[] sampledColumnWidths, float availableWidth) {
+        this.sampledColumnWidths = sampledColumnWidths;
+        this.sampledColumnWidthsAvailableWidth = availableWidth;
+    }
+
     /**
      * Returns the number of columns.
      *
@@ -603,6 +658,82 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         return addCell(new Cell().add(new Paragraph(content)));
     }
 
+    /**
+     * Adds a row for each array of values supplied by the source, see {@link #addRows(Iterator, int, Style...)}.
+     * The table is not flushed while the rows are added.
+     *
+     * @param rowSource    the source of the rows, each row is an array with a value per column
+     * @param columnStyles the styles to apply to the cells of each column, may be shorter than the number of columns
+     *                     or contain {@code null}s for the columns without a style
+     * @return this element
+     * @throws IllegalArgumentException if the values of a row do not fit into the free slots of the row
+     */
+    public Table addRows(Iterator<? extends Object[]> rowSource, Style... columnStyles) {
+        return addRows(rowSource, Integer.MAX_VALUE, columnStyles);
+    }
+
+    /**
+     * Adds a row for each array of values supplied by the source, with a cell for each value.
+     * A {@link Cell} value is added as is, an {@link IBlockElement} or an {@link Image} value is added to a new cell,
+     * a {@code null} value results in an empty cell, and any other value is converted to a {@link String}
+     * and added to a new cell as a {@link Paragraph}. The cells are placed into the free slots of the row from left
+     * to right, skipping the slots taken by the cells which span from the rows above, and a row with fewer values
+     * than free slots is completed with empty cells. A row with more values than fit into its free slots is rejected.
+     * <p>
+     * The cells are created only when the row is taken from the source. If this is a large table
+     * (see {@link #Table(UnitValue[], boolean)}) which has already been added to a document,
+     * the table is {@link #flush() flushed} every {@code rowsPerFlush} rows, so only the cells of that many rows
+     * exist at the same time, no matter how many rows the source supplies.
+     * The styles are shared by all the cells of a column rather than set on each cell.
+     *
+     * @param rowSource    the source of the rows, each row is an array with a value per column
+     * @param rowsPerFlush the number of rows after which a large table is flushed, must be greater than zero
+     * @param columnStyles the styles to apply to the cells of each column, may be shorter than the number of columns
+     *                     or contain {@code null}s for the columns without a style
+     * @return this element
+     * @throws IllegalArgumentException if {@code rowsPerFlush} is not greater than zero,
+     *                                  or the values of a row do not fit into the free slots of the row
+     */
+    public Table addRows(Iterator<? extends Object[]> rowSource, int rowsPerFlush, Style... columnStyles) {
+        if (rowsPerFlush <= 0) {
+            throw new IllegalArgumentException("The number of rows per flush must be greater than zero.");
+        }
+        int rowsSinceFlush = 0;
+        while (rowSource.hasNext()) {
+            Object[] values = rowSource.next();
+            // the row is checked before it is started, so that a rejected row leaves no empty row behind
+            boolean newRow = currentColumn >= columnWidths.length || currentColumn == -1;
+            int rowIndex = (newRow ? currentRow + 1 : currentRow) - rowWindowStart;
+            Cell[] row = rowIndex < rows.size() ? rows.get(rowIndex) : new Cell[columnWidths.length];
+            if (!fitsIntoRow(values, row, newRow ? 0 : currentColumn)) {
+                throw new IllegalArgumentException("The values of a row do not fit into the free columns of the row.");
+            }
+            if (newRow) {
+                startNewRow();
+                row = rows.get(currentRow - rowWindowStart);
+            }
+            for (Object value : values) {
+                // skip the slots taken by the cells spanning from the rows above, as addCell does
+                while (row[currentColumn] != null) {
+                    currentColumn++;
+                }
+                addCell(createCell(value, currentColumn, columnStyles));
+            }
+            // complete the row, so that it can be flushed
+            for (int i = currentColumn; i < columnWidths.length; i++) {
+                if (row[i] == null) {
+                    currentColumn = i;
+                    addCell(createCell(null, i, columnStyles));
+                }
+            }
+            if (++rowsSinceFlush == rowsPerFlush && document != null && !isComplete) {
+                flush();
+                rowsSinceFlush = 0;
+            }
+        }
+        return this;
+    }
+
     /**
      * Returns a cell as specified by its location. If the cell is in a col-span
      * or row-span and is not the top left cell, then <code>null</code> is returned.
@@ -729,18 +860,19 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         int firstRow = lastAddedRowGroups.get(0).startRow;
         int lastRow = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).finishRow;
 
-        List<IElement> toRemove = new ArrayList<>();
+        // Rebuild the list in a single pass: removeAll would compare each cell against every flushed one,
+        // which is quadratic in the number of rows flushed at once.
+        // The new list also lets the (possibly large) backing array of the old one be collected.
+        List<IElement> remainingCells = new ArrayList<>();
         for (IElement cell : childElements) {
-            if (((Cell) cell).getRow() >= firstRow && ((Cell) cell).getRow() <= lastRow) {
-                toRemove.add(cell);
+            if (((Cell) cell).getRow() < firstRow || ((Cell) cell).getRow() > lastRow) {
+                remainingCells.add(cell);
             }
         }
-        childElements.removeAll(toRemove);
+        childElements = remainingCells;
 
-        for (int i = 0; i < lastRow - firstRow; i++) {
-            rows.remove(firstRow - rowWindowStart);
-        }
-        lastAddedRow = rows.remove(firstRow - rowWindowStart);
+        lastAddedRow = rows.get(lastRow - rowWindowStart);
+        rows.subList(firstRow - rowWindowStart, lastRow - rowWindowStart + 1).clear();
         rowWindowStart = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).getFinishRow() + 1;
 
         lastAddedRowGroups = null;
@@ -895,6 +1027,40 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         return rowGroups;
     }
 
+    private static boolean fitsIntoRow(Object[] values, Cell[] row, int startColumn) {
+        int column = startColumn;
+        for (Object value : values) {
+            while (column < row.length && row[column] != null) {
+                column++;
+            }
+            column += value instanceof Cell ? ((Cell) value).getColspan() : 1;
+            if (column > row.length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Cell createCell(Object value, int column, Style[] columnStyles) {
+        Cell cell;
+        if (value instanceof Cell) {
+            cell = (Cell) value;
+        } else {
+            cell = new Cell();
+            if (value instanceof IBlockElement) {
+                cell.add((IBlockElement) value);
+            } else if (value instanceof Image) {
+                cell.add((Image) value);
+            } else if (value != null) {
+                cell.add(new Paragraph(String.valueOf(value)));
+            }
+        }
+        if (columnStyles != null && column < columnStyles.length && columnStyles[column] != null) {
+            cell.addStyle(columnStyles[column]);
+        }
+        return cell;
+    }
+
     private void initializeRows() {
         rows = new ArrayList<>();
         currentColumn = -1;
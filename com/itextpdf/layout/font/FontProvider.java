@@ -72,6 +72,15 @@ import java.util.Map;
  * additional {@link FontSet} can be used. For more details see {@link com.itextpdf.layout.property.Property#FONT_SET},
  * {@link #getPdfFont(FontInfo, FontSet)}, {@link #getStrategy(String, List, FontCharacteristics, FontSet)}.
  * <p>
+ * The font selectors are cached in a bounded, thread-safe cache, so {@link #getFontSelector(List, FontCharacteristics, FontSet)}
+ * and {@link #getStrategy(String, List, FontCharacteristics, FontSet)} may be called by several threads at once,
+ * provided the font sets are not modified meanwhile. When the cache is full an arbitrary selector is evicted
+ * (this is not an LRU cache), an evicted selector is created again on the next request.
+ * {@link #getPdfFont(FontInfo, FontSet)}, used by the strategies, creates each {@link PdfFont} only once even if it is
+ * called concurrently. The created fonts belong to a single {@link PdfDocument} though, and a {@link PdfFont} itself is not
+ * thread-safe, so concurrent strategies are safe only as long as the fonts they return are not used by several
+ * threads at once.
+ * <p>
  * Note, FontProvider does not close created {@link FontProgram}s, because of possible conflicts with {@link FontCache}.
  */
 public class FontProvider {
@@ -319,44 +328,47 @@ public class FontProvider {
 
     /**
      * Get from cache or create a new instance of {@link PdfFont}.
+     * The fonts are created under the lock of {@link #pdfFonts}, so that concurrent calls get the same instance.
      *
      * @param fontInfo  font info, to create {@link FontProgram} and {@link PdfFont}.
      * @param tempFonts Set of temporary fonts.
      * @return cached or new instance of {@link PdfFont}.
      */
     public PdfFont getPdfFont(FontInfo fontInfo, FontSet tempFonts) {
-        if (pdfFonts.containsKey(fontInfo)) {
-            return pdfFonts.get(fontInfo);
-        } else {
-            FontProgram fontProgram = null;
-            if (tempFonts != null) {
-                fontProgram = tempFonts.getFontProgram(fontInfo);
-            }
-            if (fontProgram == null) {
-                fontProgram = fontSet.getFontProgram(fontInfo);
-            }
-            PdfFont pdfFont;
-            try {
-                if (fontProgram == null) {
-                    if (fontInfo.getFontData() != null) {
-                        fontProgram = FontProgramFactory.createFont(fontInfo.getFontData(), getDefaultCacheFlag());
-                    } else {
-                        fontProgram = FontProgramFactory.createFont(fontInfo.getFontName(), getDefaultCacheFlag());
-                    }
+        synchronized (pdfFonts) {
+            if (pdfFonts.containsKey(fontInfo)) {
+                return pdfFonts.get(fontInfo);
+            } else {
+                FontProgram fontProgram = null;
+                if (tempFonts != null) {
+                    fontProgram = tempFonts.getFontProgram(fontInfo);
                 }
-                String encoding = fontInfo.getEncoding();
-                if (encoding == null || encoding.length() == 0) {
-                    encoding = getDefaultEncoding(fontProgram);
+                if (fontProgram == null) {
+                    fontProgram = fontSet.getFontProgram(fontInfo);
                 }
+                PdfFont pdfFont;
+                try {
+                    if (fontProgram == null) {
+                        if (fontInfo.getFontData() != null) {
+                            fontProgram = FontProgramFactory.createFont(fontInfo.getFontData(), getDefaultCacheFlag());
+                        } else {
+                            fontProgram = FontProgramFactory.createFont(fontInfo.getFontName(), getDefaultCacheFlag());
+                        }
+                    }
+                    String encoding = fontInfo.getEncoding();
+                    if (encoding == null || encoding.length() == 0) {
+                        encoding = getDefaultEncoding(fontProgram);
+                    }
 
-                pdfFont = PdfFontFactory.createFont(fontProgram, encoding, getDefaultEmbeddingFlag());
+                    pdfFont = PdfFontFactory.createFont(fontProgram, encoding, getDefaultEmbeddingFlag());
 
-            } catch (IOException e) {
-                throw new PdfException(PdfException.IoExceptionWhileCreatingFont, e);
-            }
+                } catch (IOException e) {
+                    throw new PdfException(PdfException.IoExceptionWhileCreatingFont, e);
+                }
 
-            pdfFonts.put(fontInfo, pdfFont);
-            return pdfFont;
+                pdfFonts.put(fontInfo, pdfFont);
+                return pdfFont;
+            }
         }
     }
 }
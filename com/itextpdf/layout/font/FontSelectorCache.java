@@ -42,14 +42,34 @@
  */
 package com.itextpdf.layout.font;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of {@link FontSelector}s of a {@link FontProvider}, for its own {@link FontSet}
+ * and for the temporary font sets passed to it.
+ * <p>
+ * The cache may be used by several threads at once, lookups do not block.
+ * Both the number of cached temporary font sets and the number of selectors per font set are bounded,
+ * when a bound is reached an arbitrary entry is evicted.
+ * As with {@link FontSet} itself, filling the font sets is not thread safe and must not overlap with layout.
+ */
 class FontSelectorCache {
 
+    /**
+     * The maximum number of selectors cached for a font set.
+     */
+    static final int MAX_CACHED_SELECTORS = 1024;
+
+    /**
+     * The maximum number of temporary font sets the selectors are cached for.
+     */
+    static final int MAX_CACHED_FONT_SETS = 64;
+
     private final FontSetSelectors defaultSelectors;
     private final FontSet defaultFontSet;
-    private final Map<Long, FontSetSelectors> caches = new HashMap<>();
+    private final ConcurrentMap<Long, FontSetSelectors> caches = new ConcurrentHashMap<>();
 
     FontSelectorCache(FontSet defaultFontSet) {
         assert defaultFontSet != null;
@@ -70,10 +90,7 @@ class FontSelectorCache {
         if (fontSet == null) {
             return get(key);
         } else {
-            FontSetSelectors selectors = caches.get(fontSet.getId());
-            if (selectors == null) {
-                caches.put(fontSet.getId(), selectors = new FontSetSelectors());
-            }
+            FontSetSelectors selectors = getSelectors(fontSet);
             if (update(selectors, fontSet)) {
                 return null;
             } else {
@@ -85,21 +102,33 @@ class FontSelectorCache {
     void put(FontSelectorKey key, FontSelector fontSelector) {
         //update defaultSelectors to reset counter before pushing if needed.
         update(null, null);
-        defaultSelectors.map.put(key, fontSelector);
+        defaultSelectors.put(key, fontSelector);
     }
 
     void put(FontSelectorKey key, FontSelector fontSelector, FontSet fontSet) {
         if (fontSet == null) {
             put(key, fontSelector);
         } else {
-            FontSetSelectors selectors = caches.get(fontSet.getId());
-            if (selectors == null) {
-                caches.put(fontSet.getId(), selectors = new FontSetSelectors());
-            }
+            FontSetSelectors selectors = getSelectors(fontSet);
             //update selectors and defaultSelectors to reset counter before pushing if needed.
             update(selectors, fontSet);
-            selectors.map.put(key, fontSelector);
+            selectors.put(key, fontSelector);
+        }
+    }
+
+    private FontSetSelectors getSelectors(FontSet fontSet) {
+        FontSetSelectors selectors = caches.get(fontSet.getId());
+        if (selectors == null) {
+            if (caches.size() >= MAX_CACHED_FONT_SETS) {
+                evictOne(caches);
+            }
+            FontSetSelectors newSelectors = new FontSetSelectors();
+            selectors = caches.putIfAbsent(fontSet.getId(), newSelectors);
+            if (selectors == null) {
+                selectors = newSelectors;
+            }
         }
+        return selectors;
     }
 
     private boolean update(FontSetSelectors selectors, FontSet fontSet) {
@@ -113,19 +142,40 @@ class FontSelectorCache {
         return updated;
     }
 
+    private static void evictOne(ConcurrentMap<?, ?> map) {
+        Iterator<?> iterator = map.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
     private static class FontSetSelectors {
-        final Map<FontSelectorKey, FontSelector> map = new HashMap<>();
-        private int fontSetSize = -1;
+        final ConcurrentMap<FontSelectorKey, FontSelector> map = new ConcurrentHashMap<>();
+        private volatile int fontSetSize = -1;
 
         boolean update(FontSet fontSet) {
             assert fontSet != null;
-            if (fontSetSize == fontSet.size()) {
+            int size = fontSet.size();
+            if (fontSetSize == size) {
                 return false;
-            } else {
-                map.clear();
-                fontSetSize = fontSet.size();
-                return true;
             }
+            synchronized (this) {
+                if (fontSetSize == size) {
+                    return false;
+                } else {
+                    map.clear();
+                    fontSetSize = size;
+                    return true;
+                }
+            }
+        }
+
+        void put(FontSelectorKey key, FontSelector fontSelector) {
+            if (map.size() >= MAX_CACHED_SELECTORS) {
+                evictOne(map);
+            }
+            map.put(key, fontSelector);
         }
     }
 }
@@ -17,11 +17,16 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -41,6 +46,13 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
 
     private static final long serialVersionUID = -7842107987915665573L;
 
+    /**
+     * The first bytes of the compiled patterns, see {@link #saveCompiledPatterns(OutputStream)}.
+     */
+    private static final int COMPILED_PATTERNS_SIGNATURE = 0x48595054;
+
+    private static final int COMPILED_PATTERNS_VERSION = 1;
+
     /**
      * value space: stores the interletter values
      */
@@ -154,6 +166,95 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         ivalues = null;
     }
 
+    /**
+     * Read hyphenation patterns compiled by {@link #saveCompiledPatterns(OutputStream)}.
+     * Reading the compiled patterns is much faster than parsing the XML file they were loaded from.
+     * @param stream the stream to read the compiled patterns from
+     * @param name unique key representing country-language combination
+     * @throws HyphenationException In case the stream does not contain compiled patterns or reading fails
+     */
+    public void loadCompiledPatterns(InputStream stream, String name) throws HyphenationException {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+            if (in.readInt() != COMPILED_PATTERNS_SIGNATURE || in.readInt() != COMPILED_PATTERNS_VERSION) {
+                throw new HyphenationException("Not compiled hyphenation patterns: " + name);
+            }
+            readTree(in);
+            int valuesLength = readCount(in, name);
+            vspace = new ByteVector();
+            // read by blocks, so that a corrupted length does not cause a huge allocation
+            for (int remaining = valuesLength; remaining > 0; ) {
+                int blockLength = Math.min(remaining, 1024);
+                in.readFully(vspace.getArray(), vspace.alloc(blockLength), blockLength);
+                remaining -= blockLength;
+            }
+            vspace.trimToSize();
+            classmap.readTree(in);
+            int exceptionsCount = readCount(in, name);
+            stoplist = new HashMap<>(Math.max(23, Math.min(exceptionsCount, 1 << 16) * 2));
+            for (int i = 0; i < exceptionsCount; i++) {
+                String word = in.readUTF();
+                int partsCount = readCount(in, name);
+                List<Object> hyphenatedWord = new ArrayList<>(Math.min(partsCount, 16));
+                for (int j = 0; j < partsCount; j++) {
+                    if (in.readBoolean()) {
+                        hyphenatedWord.add(new Hyphen(readNullableString(in), readNullableString(in), readNullableString(in)));
+                    } else {
+                        hyphenatedWord.add(in.readUTF());
+                    }
+                }
+                stoplist.put(word, hyphenatedWord);
+            }
+        } catch (IOException e) {
+            throw new HyphenationException("Can't read compiled hyphenation patterns " + name + ": " + e.getMessage());
+        }
+    }
+
+    private static int readCount(DataInputStream in, String name) throws IOException, HyphenationException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new HyphenationException("Corrupted compiled hyphenation patterns " + name + ": negative count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the patterns in a compiled binary form, which can be read by
+     * {@link #loadCompiledPatterns(InputStream, String)}.
+     * The {@link Hyphenator} looks for compiled patterns, with the {@code .hyc} extension,
+     * before the XML files, e.g. for {@code en_US.hyc} before {@code en_US.xml}.
+     * @param stream the stream to write to. It is flushed, but not closed
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveCompiledPatterns(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(COMPILED_PATTERNS_SIGNATURE);
+        out.writeInt(COMPILED_PATTERNS_VERSION);
+        writeTree(out);
+        out.writeInt(vspace.length());
+        out.write(vspace.getArray(), 0, vspace.length());
+        classmap.writeTree(out);
+        out.writeInt(stoplist.size());
+        for (String word : stoplist.keySet()) {
+            List<?> hyphenatedWord = stoplist.get(word);
+            out.writeUTF(word);
+            out.writeInt(hyphenatedWord.size());
+            for (Object part : hyphenatedWord) {
+                if (part instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) part;
+                    out.writeBoolean(true);
+                    writeNullableString(out, hyphen.preBreak);
+                    writeNullableString(out, hyphen.noBreak);
+                    writeNullableString(out, hyphen.postBreak);
+                } else {
+                    out.writeBoolean(false);
+                    out.writeUTF((String) part);
+                }
+            }
+        }
+        out.flush();
+    }
+
     /**
      * Find pattern.
      * @param pat a pattern
@@ -600,4 +701,15 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         insert(pattern, (char)k);
     }
 
+
+    private static void writeNullableString(DataOutputStream out, String str) throws IOException {
+        out.writeBoolean(str != null);
+        if (str != null) {
+            out.writeUTF(str);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
 }
@@ -23,11 +23,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * <p>This class is the main entry point to the hyphenation package.
@@ -39,6 +41,11 @@ public final class Hyphenator {
 
     private static final char SOFT_HYPHEN = '\u00ad';
 
+    /**
+     * The extension of the compiled pattern files, see {@link HyphenationTree#saveCompiledPatterns(java.io.OutputStream)}.
+     */
+    private static final String COMPILED_PATTERNS_EXTENSION = ".hyc";
+
     private static final Object staticLock = new Object();
 
     /**
@@ -46,9 +53,9 @@ public final class Hyphenator {
      */
     private static Logger log = LoggerFactory.getLogger(Hyphenator.class);
 
-    private static HyphenationTreeCache hTreeCache;
+    private static volatile HyphenationTreeCache hTreeCache;
 
-    private static List<String> additionalHyphenationFileDirectories;
+    private static final List<String> additionalHyphenationFileDirectories = new CopyOnWriteArrayList<>();
 
     protected String lang;
     protected String country;
@@ -86,17 +93,13 @@ public final class Hyphenator {
     }
 
     /**
-     * Registers additional file directories.
+     * Registers additional file directories. The pattern files are looked up in these directories first,
+     * the compiled ones (e.g. {@code en_US.hyc}) before the XML ones (e.g. {@code en_US.xml}).
      *
      * @param directory directory to register
      */
     public static void registerAdditionalHyphenationFileDirectory(String directory) {
-        synchronized (staticLock) {
-            if (additionalHyphenationFileDirectories == null) {
-                additionalHyphenationFileDirectories = new ArrayList<>();
-            }
-            additionalHyphenationFileDirectories.add(directory);
-        }
+        additionalHyphenationFileDirectories.add(directory);
     }
 
     /**
@@ -105,12 +108,16 @@ public final class Hyphenator {
      * @return the default (static) hyphenation tree cache
      */
     public static HyphenationTreeCache getHyphenationTreeCache() {
-        synchronized (staticLock) {
-            if (hTreeCache == null) {
-                hTreeCache = new HyphenationTreeCache();
+        HyphenationTreeCache cache = hTreeCache;
+        if (cache == null) {
+            synchronized (staticLock) {
+                if (hTreeCache == null) {
+                    hTreeCache = new HyphenationTreeCache();
+                }
+                cache = hTreeCache;
             }
         }
-        return hTreeCache;
+        return cache;
     }
 
     /**
@@ -125,7 +132,8 @@ public final class Hyphenator {
     /**
      * Returns a hyphenation tree for a given language and country,
      * with fallback from (lang,country) to (lang).
-     * The hyphenation trees are cached.
+     * The hyphenation trees are cached. Each hyphenation tree is loaded only once,
+     * even if it is requested by several threads at the same time.
      *
      * @param lang the language
      * @param country the country (may be null or "none")
@@ -141,6 +149,21 @@ public final class Hyphenator {
             return null;
         }
 
+        HyphenationTree hTree = cache.getHyphenationTree(lang, country);
+        if (hTree != null) {
+            return hTree;
+        }
+
+        synchronized (cache.getLoadingLock(llccKey)) {
+            // the tree might have been loaded by another thread in the meantime
+            if (cache.isMissing(llccKey)) {
+                return null;
+            }
+            return loadHyphenationTree(lang, country, hyphPathNames, llccKey, cache);
+        }
+    }
+
+    private static HyphenationTree loadHyphenationTree(String lang, String country, Map<String, String> hyphPathNames, String llccKey, HyphenationTreeCache cache) {
         HyphenationTree hTree = getHyphenationTree2(lang, country, hyphPathNames);
 
         // fallback to lang only
@@ -202,17 +225,22 @@ public final class Hyphenator {
             key = llccKey;
         }
 
-        if (additionalHyphenationFileDirectories != null) {
-            for (String dir : additionalHyphenationFileDirectories) {
-                hTree = getHyphenationTree(dir, key);
-                if (hTree != null) {
-                    break;
-                }
+        for (String dir : additionalHyphenationFileDirectories) {
+            hTree = getHyphenationTree(dir, key);
+            if (hTree != null) {
+                break;
             }
         }
 
         if (hTree == null) {
             // get from the default directory
+            InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + COMPILED_PATTERNS_EXTENSION);
+            if (defaultHyphenationResourceStream != null) {
+                hTree = getCompiledHyphenationTree(defaultHyphenationResourceStream, key);
+            }
+        }
+
+        if (hTree == null) {
             InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
             if (defaultHyphenationResourceStream != null) {
                 hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
@@ -235,6 +263,17 @@ public final class Hyphenator {
      * @return the requested HyphenationTree or null if it is not available
      */
     public static HyphenationTree getHyphenationTree(String searchDirectory, String key) {
+        // try the compiled file first
+        String compiledName = key + COMPILED_PATTERNS_EXTENSION;
+        try {
+            InputStream fis = new FileInputStream(searchDirectory + File.separator + compiledName);
+            HyphenationTree hTree = getCompiledHyphenationTree(fis, compiledName);
+            if (hTree != null) {
+                return hTree;
+            }
+        } catch (FileNotFoundException ignored) {
+        }
+
         // try the raw XML file
         String name = key + ".xml";
         try {
@@ -276,6 +315,34 @@ public final class Hyphenator {
         return hTree;
     }
 
+    /**
+     * Load tree from the stream of compiled patterns, see {@link HyphenationTree#saveCompiledPatterns(java.io.OutputStream)}.
+     *
+     * @param in the input stream to load the tree from
+     * @param name unique key representing country-language combination
+     * @return the requested HyphenationTree or null if it is not available
+     */
+    public static HyphenationTree getCompiledHyphenationTree(InputStream in, String name) {
+        if (in == null) {
+            return null;
+        }
+        HyphenationTree hTree;
+        try {
+            hTree = new HyphenationTree();
+            hTree.loadCompiledPatterns(in, name);
+        }
+        catch (HyphenationException ex) {
+            log.error("Can't load compiled patterns from file " + name + ": " + ex.getMessage());
+            return null;
+        }
+        finally {
+            try {
+                in.close();
+            } catch (Exception ignored) {}
+        }
+        return hTree;
+    }
+
     /**
      * Hyphenates a word.
      *
@@ -17,7 +17,11 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Enumeration;
 
 /**
@@ -510,6 +514,67 @@ public class TernaryTree implements Serializable {
         }
     }
 
+    /**
+     * Writes the tree in the binary form read by {@link #readTree(DataInputStream)}.
+     * The tree should be trimmed to size, see {@link #trimToSize()}.
+     * @param out the stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeTree(DataOutputStream out) throws IOException {
+        out.writeChar(root);
+        out.writeChar(freenode);
+        out.writeInt(length);
+        out.writeInt(lo.length);
+        writeChars(out, lo, lo.length);
+        writeChars(out, hi, hi.length);
+        writeChars(out, eq, eq.length);
+        writeChars(out, sc, sc.length);
+        out.writeInt(kv.length());
+        writeChars(out, kv.getArray(), kv.length());
+    }
+
+    /**
+     * Reads the tree written by {@link #writeTree(DataOutputStream)}, replacing the current content.
+     * @param in the stream to read from
+     * @throws IOException if an I/O error occurs or the stream does not contain a valid tree
+     */
+    void readTree(DataInputStream in) throws IOException {
+        root = in.readChar();
+        freenode = in.readChar();
+        length = in.readInt();
+        int nodes = in.readInt();
+        if (length < 0 || nodes < freenode || root >= Math.max(freenode, 1)) {
+            throw new IOException("Corrupted ternary tree: " + nodes + " nodes, free node " + (int) freenode);
+        }
+        lo = readChars(in, nodes);
+        hi = readChars(in, nodes);
+        eq = readChars(in, nodes);
+        sc = readChars(in, nodes);
+        kv = new CharVector(readChars(in, in.readInt()));
+    }
+
+    static void writeChars(DataOutputStream out, char[] chars, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.writeChar(chars[i]);
+        }
+    }
+
+    static char[] readChars(DataInputStream in, int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Negative number of chars: " + count);
+        }
+        // the array grows while it is read, so a corrupted count ends up with the end of the stream
+        // rather than with an attempt to allocate a huge array
+        char[] chars = new char[Math.min(count, BLOCK_SIZE)];
+        for (int i = 0; i < count; i++) {
+            if (i == chars.length) {
+                chars = Arrays.copyOf(chars, (int) Math.min(count, 2L * chars.length));
+            }
+            chars[i] = in.readChar();
+        }
+        return chars;
+    }
+
     /** @return the keys */
     public Enumeration keys() {
         return new TernaryTreeIterator(this);
@@ -0,0 +1,141 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import com.itextpdf.layout.IPropertyContainer;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Specifies that the images which have a higher resolution than needed for their size on the page
+ * are downsampled and compressed as JPEG before they are written. Images with transparency are written as is.
+ *
+ * This class is meant to be used as the value for the
+ * {@link Property#IMAGE_DOWNSAMPLING} key in an {@link IPropertyContainer}.
+ * The property is inherited, so it can be set for the whole document.
+ */
+public class ImageDownsampling {
+
+    /**
+     * The JPEG compression quality used if no quality is specified.
+     */
+    public static final float DEFAULT_QUALITY = 0.75f;
+
+    protected float resolution;
+    protected float quality;
+    protected ExecutorService executor;
+
+    /**
+     * Creates an ImageDownsampling object.
+     *
+     * @param resolution the resolution of the downsampled images, in pixels per inch
+     * @throws IllegalArgumentException if the resolution is not positive
+     */
+    public ImageDownsampling(float resolution) {
+        this(resolution, DEFAULT_QUALITY);
+    }
+
+    /**
+     * Creates an ImageDownsampling object.
+     *
+     * @param resolution the resolution of the downsampled images, in pixels per inch
+     * @param quality    the JPEG compression quality of the downsampled images, from 0 to 1
+     * @throws IllegalArgumentException if the resolution is not positive or the quality is not between 0 and 1
+     */
+    public ImageDownsampling(float resolution, float quality) {
+        this(resolution, quality, null);
+    }
+
+    /**
+     * Creates an ImageDownsampling object which downsamples the images in the background.
+     * An image is submitted to the executor as soon as its size on the page is known,
+     * and the result is waited for when the image is drawn. Note that a document which flushes
+     * its content immediately draws every image right after its layout, so the images are
+     * downsampled in parallel only if the document is created with {@code immediateFlush} set to {@code false}.
+     *
+     * @param resolution the resolution of the downsampled images, in pixels per inch
+     * @param quality    the JPEG compression quality of the downsampled images, from 0 to 1
+     * @param executor   the executor which downsamples the images, or {@code null} to downsample
+     *                   the images when they are drawn
+     * @throws IllegalArgumentException if the resolution is not positive or the quality is not between 0 and 1
+     */
+    public ImageDownsampling(float resolution, float quality, ExecutorService executor) {
+        if (!(resolution > 0)) {
+            throw new IllegalArgumentException("The resolution of the downsampled images must be greater than zero.");
+        }
+        if (!(quality >= 0 && quality <= 1)) {
+            throw new IllegalArgumentException("The quality of the downsampled images must be between 0 and 1.");
+        }
+        this.resolution = resolution;
+        this.quality = quality;
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the resolution of the downsampled images.
+     *
+     * @return the resolution in pixels per inch
+     */
+    public float getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Gets the JPEG compression quality of the downsampled images.
+     *
+     * @return the quality, from 0 to 1
+     */
+    public float getQuality() {
+        return quality;
+    }
+
+    /**
+     * Gets the executor which downsamples the images.
+     *
+     * @return the executor, or {@code null} if the images are downsampled when they are drawn
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+}
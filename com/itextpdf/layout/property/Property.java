@@ -127,6 +127,10 @@ public final class Property {
     public static final int HYPHENATION = 30;
     public static final int IGNORE_FOOTER = 96;
     public static final int IGNORE_HEADER = 97;
+    /**
+     * Shall be instance of {@link ImageDownsampling}.
+     */
+    public static final int IMAGE_DOWNSAMPLING = 119;
     public static final int ITALIC_SIMULATION = 31;
     public static final int KEEP_TOGETHER = 32;
     public static final int KEEP_WITH_NEXT = 81;
@@ -181,6 +185,10 @@ public final class Property {
     public static final int STROKE_WIDTH = 64;
     public static final int SKEW = 65;
     public static final int TABLE_LAYOUT = 93;
+    /**
+     * The number of body rows the auto layout of a table measures, see {@link com.itextpdf.layout.element.Table#setAutoLayout(int)}.
+     */
+    public static final int TABLE_LAYOUT_SAMPLE_ROWS = 118;
     public static final int TAB_ANCHOR = 66;
     public static final int TAB_DEFAULT = 67;
     public static final int TAB_LEADER = 68;
@@ -212,7 +220,7 @@ public final class Property {
      * related to textual operations. Indicates whether or not this type of property is inheritable.
      */
     private static final boolean[] INHERITED_PROPERTIES;
-    private static final int MAX_INHERITED_PROPERTY_ID = 117;
+    private static final int MAX_INHERITED_PROPERTY_ID = 119;
 
     static {
         INHERITED_PROPERTIES = new boolean[MAX_INHERITED_PROPERTY_ID + 1];
@@ -234,6 +242,7 @@ public final class Property {
         INHERITED_PROPERTIES[Property.FONT_WEIGHT] = true;
         INHERITED_PROPERTIES[Property.FORCED_PLACEMENT] = true;
         INHERITED_PROPERTIES[Property.HYPHENATION] = true;
+        INHERITED_PROPERTIES[Property.IMAGE_DOWNSAMPLING] = true;
         INHERITED_PROPERTIES[Property.ITALIC_SIMULATION] = true;
         INHERITED_PROPERTIES[Property.KEEP_TOGETHER] = true;
         INHERITED_PROPERTIES[Property.LEADING] = true;
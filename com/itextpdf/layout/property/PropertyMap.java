@@ -0,0 +1,360 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map of layout properties which stores the values of the {@link Property} constants
+ * in an array indexed by the property key, so that lookups do not need hashing.
+ * Keys which are not in the range of the predefined properties are kept in a regular hash map.
+ * {@code null} values are supported, as in {@link HashMap}.
+ * <p>
+ * The map is not thread-safe.
+ */
+public final class PropertyMap extends AbstractMap<Integer, Object> {
+
+    /**
+     * The keys less than this value are stored in the array.
+     */
+    static final int DENSE_KEYS_LIMIT = 128;
+
+    private static final Object NULL_VALUE = new Object();
+
+    private Object[] values;
+    private int denseSize;
+    private Map<Integer, Object> sparseValues;
+    private Set<Map.Entry<Integer, Object>> entrySet;
+    private int modificationCount;
+
+    /**
+     * Creates an empty property map.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a property map with the same mappings as the given map.
+     *
+     * @param properties the map whose mappings are to be placed in this map
+     */
+    public PropertyMap(Map<Integer, Object> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Gets the value of the property, without boxing the key.
+     *
+     * @param key the property key
+     * @return the value, or {@code null} if there is no mapping for the key or the key is mapped to {@code null}
+     */
+    public Object get(int key) {
+        if (key >= 0 && key < DENSE_KEYS_LIMIT) {
+            Object value = values != null && key < values.length ? values[key] : null;
+            return value == NULL_VALUE ? null : value;
+        }
+        return sparseValues != null ? sparseValues.get(key) : null;
+    }
+
+    /**
+     * Checks if the map contains the property, without boxing the key.
+     *
+     * @param key the property key
+     * @return {@code true} if the map contains a mapping for the key
+     */
+    public boolean containsKey(int key) {
+        if (key >= 0 && key < DENSE_KEYS_LIMIT) {
+            return values != null && key < values.length && values[key] != null;
+        }
+        return sparseValues != null && sparseValues.containsKey(key);
+    }
+
+    /**
+     * Sets the value of the property, without boxing the key.
+     *
+     * @param key   the property key
+     * @param value the value, may be {@code null}
+     * @return the previous value, or {@code null} if there was none
+     */
+    public Object put(int key, Object value) {
+        if (key >= 0 && key < DENSE_KEYS_LIMIT) {
+            if (values == null || key >= values.length) {
+                values = values == null ? new Object[key + 1] : Arrays.copyOf(values, Math.max(key + 1, Math.min(values.length * 2, DENSE_KEYS_LIMIT)));
+            }
+            Object previous = values[key];
+            values[key] = value == null ? NULL_VALUE : value;
+            ++modificationCount;
+            if (previous == null) {
+                ++denseSize;
+            }
+            return previous == NULL_VALUE ? null : previous;
+        }
+        if (sparseValues == null) {
+            sparseValues = new HashMap<>();
+        }
+        ++modificationCount;
+        return sparseValues.put(key, value);
+    }
+
+    /**
+     * Removes the property, without boxing the key.
+     *
+     * @param key the property key
+     * @return the previous value, or {@code null} if there was none
+     */
+    public Object remove(int key) {
+        if (key >= 0 && key < DENSE_KEYS_LIMIT) {
+            if (values == null || key >= values.length || values[key] == null) {
+                return null;
+            }
+            Object previous = values[key];
+            values[key] = null;
+            --denseSize;
+            ++modificationCount;
+            return previous == NULL_VALUE ? null : previous;
+        }
+        if (sparseValues == null || !sparseValues.containsKey(key)) {
+            return null;
+        }
+        ++modificationCount;
+        return sparseValues.remove(key);
+    }
+
+    /**
+     * Gets the number of modifications of this map. The number changes whenever a property is set or removed,
+     * so it can be used to check that the map has not been modified since some moment.
+     *
+     * @return the number of modifications
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return put((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> map) {
+        if (map instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) map;
+            if (other.values != null) {
+                for (int key = 0; key < other.values.length; key++) {
+                    if (other.values[key] != null) {
+                        put(key, other.values[key] == NULL_VALUE ? null : other.values[key]);
+                    }
+                }
+            }
+            if (other.sparseValues != null) {
+                putAll(other.sparseValues);
+            }
+        } else {
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (values != null) {
+            Arrays.fill(values, null);
+        }
+        denseSize = 0;
+        sparseValues = null;
+        ++modificationCount;
+    }
+
+    @Override
+    public int size() {
+        return denseSize + (sparseValues != null ? sparseValues.size() : 0);
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return PropertyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            PropertyMap.this.clear();
+        }
+    }
+
+    /**
+     * Iterates over the dense keys in ascending order, then over the sparse ones.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int nextDenseKey = -1;
+        private int lastDenseKey = -1;
+        private Iterator<Map.Entry<Integer, Object>> sparseIterator;
+
+        EntryIterator() {
+            nextDenseKey = findDenseKey(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextDenseKey >= 0) {
+                return true;
+            }
+            if (sparseIterator == null && sparseValues != null) {
+                sparseIterator = sparseValues.entrySet().iterator();
+            }
+            return sparseIterator != null && sparseIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextDenseKey >= 0) {
+                lastDenseKey = nextDenseKey;
+                nextDenseKey = findDenseKey(nextDenseKey + 1);
+                return new DenseEntry(lastDenseKey);
+            }
+            lastDenseKey = -1;
+            return sparseIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastDenseKey >= 0) {
+                PropertyMap.this.remove(lastDenseKey);
+                lastDenseKey = -1;
+            } else if (sparseIterator != null) {
+                sparseIterator.remove();
+                ++modificationCount;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private int findDenseKey(int from) {
+            if (values != null) {
+                for (int key = from; key < values.length; key++) {
+                    if (values[key] != null) {
+                        return key;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    private final class DenseEntry implements Map.Entry<Integer, Object> {
+        private final int key;
+
+        DenseEntry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return PropertyMap.this.get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return PropertyMap.this.put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key ^ (value == null ? 0 : value.hashCode());
+        }
+    }
+}
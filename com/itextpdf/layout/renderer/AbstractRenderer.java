@@ -73,7 +73,9 @@ import com.itextpdf.layout.font.FontProvider;
 import com.itextpdf.layout.layout.LayoutArea;
 import com.itextpdf.layout.layout.LayoutContext;
 import com.itextpdf.layout.layout.LayoutPosition;
+import com.itextpdf.layout.layout.LayoutResult;
 import com.itextpdf.layout.layout.PositionedLayoutContext;
+import com.itextpdf.layout.layout.RootLayoutArea;
 import com.itextpdf.layout.minmaxwidth.MinMaxWidth;
 import com.itextpdf.layout.minmaxwidth.MinMaxWidthUtils;
 import com.itextpdf.layout.property.Background;
@@ -84,6 +86,7 @@ import com.itextpdf.layout.property.BoxSizingPropertyValue;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.OverflowPropertyValue;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.Transform;
 import com.itextpdf.layout.property.TransparentColor;
 import com.itextpdf.layout.property.UnitValue;
@@ -93,7 +96,6 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -121,9 +123,15 @@ public abstract class AbstractRenderer implements IRenderer {
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
     protected boolean isLastRendererForModelElement = true;
 
+    /**
+     * The result of the last layout of this renderer, which can be reused if the renderer is laid out again
+     * in the same way, see {@link #layoutOrReuse(IRenderer, LayoutContext)}.
+     */
+    ReusableLayoutResult lastLayoutResult;
+
     /**
      * Creates a renderer.
      */
@@ -240,6 +248,9 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public boolean hasOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return ((PropertyMap) properties).containsKey(property);
+        }
         return properties.containsKey(property);
     }
 
@@ -259,7 +270,11 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).remove(property);
+        } else {
+            properties.remove(property);
+        }
     }
 
     /**
@@ -269,8 +284,8 @@ public abstract class AbstractRenderer implements IRenderer {
      * @param property the property key to be deleted
      */
     public void deleteProperty(int property) {
-        if (properties.containsKey(property)) {
-            properties.remove(property);
+        if (hasOwnProperty(property)) {
+            deleteOwnProperty(property);
         } else {
             if (modelElement != null) {
                 modelElement.deleteOwnProperty(property);
@@ -284,7 +299,13 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public <T1> T1 getProperty(int key) {
         Object property;
-        if ((property = properties.get(key)) != null || properties.containsKey(key)) {
+        if (properties instanceof PropertyMap) {
+            // the int overloads of the property map do not box the key
+            PropertyMap propertyMap = (PropertyMap) properties;
+            if ((property = propertyMap.get(key)) != null || propertyMap.containsKey(key)) {
+                return (T1) property;
+            }
+        } else if ((property = properties.get(key)) != null || properties.containsKey(key)) {
             return (T1) property;
         }
         if (modelElement != null && ((property = modelElement.<T1>getProperty(key)) != null || modelElement.hasProperty(key))) {
@@ -306,6 +327,9 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public <T1> T1 getOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return (T1) ((PropertyMap) properties).get(property);
+        }
         return (T1) properties.get(property);
     }
 
@@ -323,7 +347,11 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).put(property, value);
+        } else {
+            properties.put(property, value);
+        }
     }
 
     /**
@@ -857,11 +885,11 @@ public abstract class AbstractRenderer implements IRenderer {
             List<IRenderer> waiting = (rootRenderer != null && !rootRenderer.waitingDrawingElements.contains(child)) ? rootRenderer.waitingDrawingElements : waitingRenderers;
             processWaitingDrawing(child, transformProp, waiting);
             if (!FloatingHelper.isRendererFloating(child) && transformProp == null) {
-                child.draw(drawContext);
+                LayoutInstrumentation.draw(child, drawContext);
             }
         }
         for (IRenderer waitingRenderer : waitingRenderers) {
-            waitingRenderer.draw(drawContext);
+            LayoutInstrumentation.draw(waitingRenderer, drawContext);
         }
     }
 
@@ -2071,7 +2099,9 @@ public abstract class AbstractRenderer implements IRenderer {
         while (isFirstOnRootArea && ancestor.getParent() != null) {
             IRenderer parent = ancestor.getParent();
             if (parent instanceof RootRenderer) {
-                isFirstOnRootArea = ((RootRenderer) parent).currentArea.isEmptyArea();
+                // the root has no current area if its children are laid out directly, e.g. into a template
+                RootLayoutArea rootArea = ((RootRenderer) parent).currentArea;
+                isFirstOnRootArea = rootArea == null || rootArea.isEmptyArea();
             } else if (parent.getOccupiedArea() == null) {
                 break;
             } else if (!checkRootAreaOnly) {
@@ -2093,6 +2123,34 @@ public abstract class AbstractRenderer implements IRenderer {
         return null;
     }
 
+    /**
+     * Lays out the renderer, or returns the result of its previous layout if the renderer is laid out again
+     * with the same context and neither the renderer nor its surroundings have changed since then,
+     * see {@link ReusableLayoutResult}.
+     *
+     * @param renderer      the renderer to lay out
+     * @param layoutContext the layout context
+     * @return the result of the layout
+     */
+    static LayoutResult layoutOrReuse(IRenderer renderer, LayoutContext layoutContext) {
+        if (!(renderer instanceof AbstractRenderer)) {
+            return renderer.layout(layoutContext);
+        }
+        AbstractRenderer abstractRenderer = (AbstractRenderer) renderer;
+        ReusableLayoutResult lastLayoutResult = abstractRenderer.lastLayoutResult;
+        if (lastLayoutResult != null && lastLayoutResult.isReusableFor(abstractRenderer, layoutContext)) {
+            RootRenderer rootRenderer = abstractRenderer.getRootRenderer();
+            if (rootRenderer != null) {
+                rootRenderer.layoutResultReuseCount++;
+            }
+            return lastLayoutResult.getResult();
+        }
+        abstractRenderer.lastLayoutResult = null;
+        LayoutResult result = abstractRenderer.layout(layoutContext);
+        abstractRenderer.lastLayoutResult = ReusableLayoutResult.create(abstractRenderer, layoutContext, result);
+        return result;
+    }
+
     static float calculateAdditionalWidth(AbstractRenderer renderer) {
         Rectangle dummy = new Rectangle(0, 0);
         renderer.applyMargins(dummy, true);
@@ -2137,7 +2195,7 @@ public abstract class AbstractRenderer implements IRenderer {
 
     void drawPositionedChildren(DrawContext drawContext) {
         for (IRenderer positionedChild : positionedRenderers) {
-            positionedChild.draw(drawContext);
+            LayoutInstrumentation.draw(positionedChild, drawContext);
         }
     }
 
@@ -120,7 +120,7 @@ public class CanvasRenderer extends RootRenderer {
                     tagPointer.setContentStreamForTagging(canvas.getPdfCanvas().getContentStream());
                 }
             }
-            resultRenderer.draw(new DrawContext(canvas.getPdfDocument(), canvas.getPdfCanvas(), toTag));
+            LayoutInstrumentation.draw(resultRenderer, new DrawContext(canvas.getPdfDocument(), canvas.getPdfCanvas(), toTag));
             if (toTag) {
                 tagPointer.setContentStreamForTagging(null);
             }
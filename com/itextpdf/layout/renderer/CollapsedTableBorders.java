@@ -88,9 +88,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process right border
-        borderList = getVerticalBorder(col + colspan);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorder(col + colspan, i);
             if (null != border && border.getWidth() > indents[1]) {
                 indents[1] = border.getWidth();
             }
@@ -104,9 +103,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process left border
-        borderList = getVerticalBorder(col);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorder(col, i);
             if (null != border && border.getWidth() > indents[3]) {
                 indents[3] = border.getWidth();
             }
@@ -126,6 +124,25 @@ class CollapsedTableBorders extends TableBorders {
         }
     }
 
+    /**
+     * Gets a single border of the vertical border list with the given index.
+     * Unlike {@link #getVerticalBorder(int)}, the collapsed outer borders are not built for
+     * the whole row range, so that the cost of the call does not depend on the number of rows.
+     *
+     * @param index    the index of the vertical border
+     * @param rowIndex the index of the border in the list, i.e. the row index shifted by the large table offset
+     * @return the (collapsed) border
+     */
+    Border getVerticalBorder(int index, int rowIndex) {
+        if (index == 0) {
+            return getCollapsedBorder(verticalBorders.get(0).get(rowIndex), tableBoundingBorders[3]);
+        } else if (index == numberOfColumns) {
+            return getCollapsedBorder(verticalBorders.get(verticalBorders.size() - 1).get(rowIndex), tableBoundingBorders[1]);
+        } else {
+            return verticalBorders.get(index).get(rowIndex);
+        }
+    }
+
 
     public List<Border> getHorizontalBorder(int index) {
         if (index == startRow) {
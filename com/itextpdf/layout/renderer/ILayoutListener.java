@@ -0,0 +1,86 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+
+/**
+ * A listener which is notified about the layout and drawing operations performed by the renderers
+ * of a {@link RootRenderer}, e.g. a {@link DocumentRenderer}.
+ * See {@link RootRenderer#setLayoutListener(ILayoutListener)}.
+ * <p>
+ * The listener is notified after each operation has finished, so the notifications about child renderers
+ * come before the notification about their parent. The total time of an operation includes the time
+ * spent by its child renderers, the self time excludes it.
+ * The listener is called on the thread which performs the layout.
+ *
+ * @see LayoutStatistics
+ */
+public interface ILayoutListener {
+
+    /**
+     * Called after a renderer has been laid out.
+     *
+     * @param renderer       the renderer which has been laid out
+     * @param layoutContext  the {@link LayoutContext} passed to the renderer
+     * @param result         the {@link LayoutResult} returned by the renderer
+     * @param totalNanos     the time spent by the operation including the child renderers, in nanoseconds
+     * @param selfNanos      the time spent by the operation excluding the child renderers, in nanoseconds
+     * @param allocatedBytes the number of bytes allocated by the operation including the child renderers,
+     *                       or -1 if the JVM does not support measuring it
+     */
+    void layoutPerformed(IRenderer renderer, LayoutContext layoutContext, LayoutResult result, long totalNanos, long selfNanos, long allocatedBytes);
+
+    /**
+     * Called after a renderer has been drawn.
+     *
+     * @param renderer       the renderer which has been drawn
+     * @param totalNanos     the time spent by the operation including the child renderers, in nanoseconds
+     * @param selfNanos      the time spent by the operation excluding the child renderers, in nanoseconds
+     * @param allocatedBytes the number of bytes allocated by the operation including the child renderers,
+     *                       or -1 if the JVM does not support measuring it
+     */
+    void drawPerformed(IRenderer renderer, long totalNanos, long selfNanos, long allocatedBytes);
+}
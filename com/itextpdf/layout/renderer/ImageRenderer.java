@@ -44,9 +44,16 @@
 package com.itextpdf.layout.renderer;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.kernel.geom.AffineTransform;
 import com.itextpdf.kernel.geom.Point;
 import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.canvas.CanvasArtifact;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.tagutils.TagTreePointer;
@@ -62,6 +69,7 @@ import com.itextpdf.layout.layout.MinMaxWidthLayoutResult;
 import com.itextpdf.layout.minmaxwidth.MinMaxWidth;
 import com.itextpdf.layout.minmaxwidth.MinMaxWidthUtils;
 import com.itextpdf.layout.property.FloatPropertyValue;
+import com.itextpdf.layout.property.ImageDownsampling;
 import com.itextpdf.layout.property.OverflowPropertyValue;
 import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.property.UnitValue;
@@ -71,10 +79,32 @@ import org.slf4j.LoggerFactory;
 import com.itextpdf.io.util.MessageFormatUtil;
 import com.itextpdf.layout.tagging.LayoutTaggingHelper;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
 
 public class ImageRenderer extends AbstractRenderer implements ILeafElementRenderer {
 
+    /**
+     * Images which are at most this many times larger than their downsampled size are written as is.
+     */
+    private static final float DOWNSAMPLING_THRESHOLD = 1.5f;
+
+    /**
+     * The downsampled images, by the image XObject they are downsampled from. An image drawn several times at
+     * the same size is downsampled once, and as the image XObjects drawn for it are created from the same image data,
+     * the document writes the image only once, see
+     * {@link com.itextpdf.kernel.pdf.PdfResources#addImage(com.itextpdf.kernel.pdf.PdfDocument, PdfImageXObject)}.
+     */
+    private static final Map<PdfImageXObject, List<DownsampledImage>> downsampledImages = new WeakHashMap<>();
+
     protected Float fixedXPosition;
     protected Float fixedYPosition;
     protected float pivotY;
@@ -88,6 +118,11 @@ public class ImageRenderer extends AbstractRenderer implements ILeafElementRende
     private float rotatedDeltaX;
     private float rotatedDeltaY;
 
+    /**
+     * The downsampled image requested by the last layout of this renderer, see {@link #startImageDownsampling()}.
+     */
+    private DownsampledImage requestedDownsampledImage;
+
     /**
      * Creates an ImageRenderer from its corresponding layout object.
      *
@@ -231,6 +266,7 @@ public class ImageRenderer extends AbstractRenderer implements ILeafElementRende
         LayoutArea editedArea = FloatingHelper.adjustResultOccupiedAreaForFloatAndClear(this, floatRendererAreas, layoutContext.getArea().getBBox(), clearHeightCorrection, false);
 
         applyAbsolutePositionIfNeeded(layoutContext);
+        startImageDownsampling();
 
         return new MinMaxWidthLayoutResult(LayoutResult.FULL, editedArea, null, null, isPlacingForced ? this : null)
                 .setMinMaxWidth(minMaxWidth);
@@ -302,7 +338,7 @@ public class ImageRenderer extends AbstractRenderer implements ILeafElementRende
             }
         }
 
-        PdfXObject xObject = ((Image) (getModelElement())).getXObject();
+        PdfXObject xObject = getDownsampledXObject(((Image) (getModelElement())).getXObject());
         beginElementOpacityApplying(drawContext);
         canvas.addXObject(xObject, matrix[0], matrix[1], matrix[2], matrix[3], (float) fixedXPosition + deltaX, (float) fixedYPosition);
 
@@ -369,7 +405,7 @@ public class ImageRenderer extends AbstractRenderer implements ILeafElementRende
 
     @Override
     protected MinMaxWidth getMinMaxWidth() {
-        return ((MinMaxWidthLayoutResult) layout(new LayoutContext(new LayoutArea(1, new Rectangle(MinMaxWidthUtils.getInfWidth(), AbstractRenderer.INF))))).getMinMaxWidth();
+        return ((MinMaxWidthLayoutResult) LayoutInstrumentation.layout(this, new LayoutContext(new LayoutArea(1, new Rectangle(MinMaxWidthUtils.getInfWidth(), AbstractRenderer.INF))))).getMinMaxWidth();
     }
 
     protected ImageRenderer autoScale(LayoutArea layoutArea) {
@@ -451,6 +487,186 @@ public class ImageRenderer extends AbstractRenderer implements ILeafElementRende
         }
     }
 
+    /**
+     * Submits the downsampling of the image to the executor of the {@link Property#IMAGE_DOWNSAMPLING} property,
+     * as the size of the image on the page is known after the layout.
+     * The renderer may be laid out several times, e.g. to calculate its min-max width, so the downsampling requested
+     * by its previous layout is released, and dropped if no other renderer requested it and it has not been drawn.
+     */
+    private void startImageDownsampling() {
+        ImageDownsampling downsampling = this.<ImageDownsampling>getProperty(Property.IMAGE_DOWNSAMPLING);
+        int[] size = downsampling != null && downsampling.getExecutor() != null ? getDownsampledImageSize(downsampling) : null;
+        PdfXObject xObject = ((Image) (getModelElement())).getXObject();
+        DownsampledImage previousImage = requestedDownsampledImage;
+        requestedDownsampledImage = size == null ? null : getDownsampledImage((PdfImageXObject) xObject, size[0], size[1],
+                downsampling.getQuality(), downsampling.getExecutor(), false);
+        if (previousImage != null) {
+            releaseDownsampledImage((PdfImageXObject) xObject, previousImage);
+        }
+    }
+
+    /**
+     * Gets the image XObject to be drawn instead of the given one if the image is downsampled,
+     * see {@link Property#IMAGE_DOWNSAMPLING}.
+     */
+    private PdfXObject getDownsampledXObject(PdfXObject xObject) {
+        ImageDownsampling downsampling = this.<ImageDownsampling>getProperty(Property.IMAGE_DOWNSAMPLING);
+        int[] size = downsampling != null ? getDownsampledImageSize(downsampling) : null;
+        if (size == null) {
+            return xObject;
+        }
+        Future<ImageData> downsampledImage = getDownsampledImage((PdfImageXObject) xObject, size[0], size[1],
+                downsampling.getQuality(), null, true).image;
+        ImageData image = null;
+        try {
+            // downsamples the image now if it is not submitted to an executor, or the executor has not started it yet
+            if (downsampledImage instanceof RunnableFuture) {
+                ((RunnableFuture<?>) downsampledImage).run();
+            }
+            image = downsampledImage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            Logger logger = LoggerFactory.getLogger(ImageRenderer.class);
+            logger.warn(MessageFormatUtil.format(LogMessageConstant.IMAGE_CANNOT_BE_DOWNSAMPLED, e.getMessage()));
+        }
+        return image != null ? new PdfImageXObject(image) : xObject;
+    }
+
+    /**
+     * Gets the size in pixels the image is downsampled to for its size on the page.
+     *
+     * @return the width and the height, or {@code null} if the image is not downsampled
+     */
+    private int[] getDownsampledImageSize(ImageDownsampling downsampling) {
+        PdfXObject xObject = ((Image) (getModelElement())).getXObject();
+        if (!(xObject instanceof PdfImageXObject) || !canBeDownsampled((PdfImageXObject) xObject)) {
+            return null;
+        }
+        // The matrix scales the unit square of the image to its size on the page, in points
+        double width = Math.sqrt(matrix[0] * matrix[0] + matrix[1] * matrix[1]);
+        double height = Math.sqrt(matrix[2] * matrix[2] + matrix[3] * matrix[3]);
+        int downsampledWidth = Math.max(1, (int) Math.ceil(width / 72 * downsampling.getResolution()));
+        int downsampledHeight = Math.max(1, (int) Math.ceil(height / 72 * downsampling.getResolution()));
+        if (xObject.getWidth() <= downsampledWidth * DOWNSAMPLING_THRESHOLD
+                && xObject.getHeight() <= downsampledHeight * DOWNSAMPLING_THRESHOLD) {
+            return null;
+        }
+        return new int[] {downsampledWidth, downsampledHeight};
+    }
+
+    /**
+     * Gets the downsampled image from the cache, or starts downsampling the image if it is not cached.
+     * The downsampling is submitted to the executor, or, if the executor is {@code null} or rejects it,
+     * is left to be run by the caller. The image is either requested by a layout, and then shall be released with
+     * {@link #releaseDownsampledImage(PdfImageXObject, DownsampledImage)}, or is drawn and stays in the cache.
+     */
+    private static DownsampledImage getDownsampledImage(PdfImageXObject image, final int width, final int height,
+            final float quality, ExecutorService executor, boolean drawn) {
+        synchronized (downsampledImages) {
+            List<DownsampledImage> images = downsampledImages.get(image);
+            if (images == null) {
+                images = new ArrayList<>(1);
+                downsampledImages.put(image, images);
+            }
+            DownsampledImage downsampledImage = null;
+            for (DownsampledImage cachedImage : images) {
+                if (cachedImage.width == width && cachedImage.height == height && cachedImage.quality == quality) {
+                    downsampledImage = cachedImage;
+                    break;
+                }
+            }
+            if (downsampledImage == null) {
+                downsampledImage = new DownsampledImage(width, height, quality, createDownsamplingTask(image, width, height, quality, executor));
+                images.add(downsampledImage);
+            }
+            if (drawn) {
+                downsampledImage.drawn = true;
+            } else {
+                downsampledImage.requestsCount++;
+            }
+            return downsampledImage;
+        }
+    }
+
+    /**
+     * Releases the image requested by a layout. The image is dropped from the cache, and its downsampling is cancelled
+     * if it has not been started yet, unless it is requested by another layout or has been drawn.
+     */
+    private static void releaseDownsampledImage(PdfImageXObject image, DownsampledImage downsampledImage) {
+        synchronized (downsampledImages) {
+            if (--downsampledImage.requestsCount == 0 && !downsampledImage.drawn) {
+                downsampledImage.image.cancel(false);
+                List<DownsampledImage> images = downsampledImages.get(image);
+                if (images != null) {
+                    images.remove(downsampledImage);
+                }
+            }
+        }
+    }
+
+    private static Future<ImageData> createDownsamplingTask(PdfImageXObject image, final int width, final int height,
+            final float quality, ExecutorService executor) {
+        // The task refers to the stream and not to the image XObject, which is the weak key of the cache
+        final PdfStream stream = image.getPdfObject();
+        Callable<ImageData> task = new Callable<ImageData>() {
+            @Override
+            public ImageData call() {
+                return downsample(stream, width, height, quality);
+            }
+        };
+        if (executor != null) {
+            try {
+                return executor.submit(task);
+            } catch (RejectedExecutionException ignored) {
+                // e.g. the executor is shut down, the image is downsampled when it is drawn
+            }
+        }
+        return new FutureTask<>(task);
+    }
+
+    private static ImageData downsample(PdfStream stream, int width, int height, float quality) {
+        byte[] bytes;
+        // The stream may be downsampled to several sizes at once
+        synchronized (stream) {
+            bytes = new PdfImageXObject(stream).getImageBytes();
+        }
+        return ImageDataFactory.createDownsampled(bytes, width, height, quality);
+    }
+
+    private static boolean canBeDownsampled(PdfImageXObject image) {
+        PdfStream stream = image.getPdfObject();
+        // Images which are already written or shared with other content are left as they are
+        if (stream.isFlushed() || stream.getIndirectReference() != null) {
+            return false;
+        }
+        // Masks, transparency and inverted colors cannot be kept in a JPEG image
+        if (stream.containsKey(PdfName.SMask) || stream.containsKey(PdfName.Mask) || stream.containsKey(PdfName.Decode)
+                || Boolean.TRUE.equals(stream.getAsBool(PdfName.ImageMask)) || PdfName.DeviceCMYK.equals(stream.get(PdfName.ColorSpace))) {
+            return false;
+        }
+        // Bilevel images, like scanned text, are kept sharp
+        PdfNumber bitsPerComponent = stream.getAsNumber(PdfName.BitsPerComponent);
+        if (bitsPerComponent == null || bitsPerComponent.intValue() < 8) {
+            return false;
+        }
+        // Only JPEG images and images with lossless compression are decoded
+        PdfObject filter = stream.get(PdfName.Filter);
+        PdfArray filters = new PdfArray();
+        if (filter instanceof PdfArray) {
+            filters = (PdfArray) filter;
+        } else if (filter != null) {
+            filters.add(filter);
+        }
+        for (int i = 0; i < filters.size(); i++) {
+            PdfObject filterName = filters.get(i);
+            if (!PdfName.FlateDecode.equals(filterName) && !PdfName.DCTDecode.equals(filterName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void getMatrix(AffineTransform t, float imageItselfScaledWidth, float imageItselfScaledHeight) {
         t.getMatrix(matrix);
         PdfXObject xObject = ((Image) (getModelElement())).getXObject();
@@ -593,4 +809,20 @@ public class ImageRenderer extends AbstractRenderer implements ILeafElementRende
     public float getDescent() {
         return 0;
     }
+
+    private static class DownsampledImage {
+        final int width;
+        final int height;
+        final float quality;
+        final Future<ImageData> image;
+        int requestsCount;
+        boolean drawn;
+
+        DownsampledImage(int width, int height, float quality, Future<ImageData> image) {
+            this.width = width;
+            this.height = height;
+            this.quality = quality;
+            this.image = image;
+        }
+    }
 }
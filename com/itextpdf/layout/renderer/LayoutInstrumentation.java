@@ -0,0 +1,178 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+
+import java.lang.reflect.Method;
+
+/**
+ * Performs the layout and drawing operations of the renderers and reports them
+ * to the {@link ILayoutListener} of the {@link RootRenderer}, if any.
+ * If no listener has ever been set, the operations are performed directly.
+ * The layouts are performed by {@link AbstractRenderer#layoutOrReuse(IRenderer, LayoutContext)} in both cases,
+ * so a listener measures the same operations that are performed without it.
+ */
+final class LayoutInstrumentation {
+
+    private static volatile boolean listenerSet = false;
+
+    private static final ThreadLocal<Frame> currentFrame = new ThreadLocal<>();
+
+    private static final Object threadMXBean;
+    private static final Method getThreadAllocatedBytes;
+
+    static {
+        // com.sun.management.ThreadMXBean is not available on all JVMs, so it is accessed via reflection
+        Object bean = null;
+        Method method = null;
+        try {
+            bean = Class.forName("java.lang.management.ManagementFactory").getMethod("getThreadMXBean").invoke(null);
+            Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+            if (beanClass.isInstance(bean)) {
+                method = beanClass.getMethod("getThreadAllocatedBytes", long.class);
+                if (((Long) method.invoke(bean, Thread.currentThread().getId())) < 0) {
+                    method = null;
+                }
+            }
+        } catch (Exception ignored) {
+            method = null;
+        }
+        threadMXBean = bean;
+        getThreadAllocatedBytes = method;
+    }
+
+    private LayoutInstrumentation() {
+    }
+
+    static void onListenerSet() {
+        listenerSet = true;
+    }
+
+    static LayoutResult layout(IRenderer renderer, LayoutContext layoutContext) {
+        ILayoutListener listener = listenerSet ? getListener(renderer) : null;
+        if (listener == null) {
+            return AbstractRenderer.layoutOrReuse(renderer, layoutContext);
+        }
+        Frame frame = enter();
+        LayoutResult result = null;
+        try {
+            result = AbstractRenderer.layoutOrReuse(renderer, layoutContext);
+        } finally {
+            exit(frame);
+        }
+        listener.layoutPerformed(renderer, layoutContext, result, frame.totalNanos, frame.totalNanos - frame.childNanos, frame.allocatedBytes);
+        return result;
+    }
+
+    static void draw(IRenderer renderer, DrawContext drawContext) {
+        ILayoutListener listener = listenerSet ? getListener(renderer) : null;
+        if (listener == null) {
+            renderer.draw(drawContext);
+            return;
+        }
+        Frame frame = enter();
+        try {
+            renderer.draw(drawContext);
+        } finally {
+            exit(frame);
+        }
+        listener.drawPerformed(renderer, frame.totalNanos, frame.totalNanos - frame.childNanos, frame.allocatedBytes);
+    }
+
+    private static ILayoutListener getListener(IRenderer renderer) {
+        IRenderer currentRenderer = renderer;
+        while (currentRenderer != null) {
+            if (currentRenderer instanceof RootRenderer) {
+                return ((RootRenderer) currentRenderer).getLayoutListener();
+            }
+            currentRenderer = currentRenderer.getParent();
+        }
+        return null;
+    }
+
+    private static Frame enter() {
+        Frame frame = new Frame(currentFrame.get());
+        currentFrame.set(frame);
+        frame.allocatedBytes = getAllocatedBytes();
+        frame.totalNanos = System.nanoTime();
+        return frame;
+    }
+
+    private static void exit(Frame frame) {
+        frame.totalNanos = System.nanoTime() - frame.totalNanos;
+        if (frame.allocatedBytes >= 0) {
+            frame.allocatedBytes = getAllocatedBytes() - frame.allocatedBytes;
+        }
+        if (frame.parent != null) {
+            frame.parent.childNanos += frame.totalNanos;
+            currentFrame.set(frame.parent);
+        } else {
+            currentFrame.remove();
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        if (getThreadAllocatedBytes == null) {
+            return -1;
+        }
+        try {
+            return (long) (Long) getThreadAllocatedBytes.invoke(threadMXBean, Thread.currentThread().getId());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static final class Frame {
+        private final Frame parent;
+        private long totalNanos;
+        private long childNanos;
+        private long allocatedBytes;
+
+        Frame(Frame parent) {
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.util.MessageFormatUtil;
+import com.itextpdf.layout.IPropertyContainer;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * An {@link ILayoutListener} which aggregates the layout and drawing operations per renderer class
+ * and per model element, e.g. to find out which elements are laid out repeatedly and where the time goes:
+ * <pre>
+ * LayoutStatistics statistics = new LayoutStatistics();
+ * ((RootRenderer) document.getRenderer()).setLayoutListener(statistics);
+ * // add the content
+ * System.out.println(statistics);
+ * </pre>
+ * The statistics per element keep weak references to the model elements, so the statistics of the elements
+ * which are no longer used, e.g. flushed by a document with immediate flush, are discarded.
+ * The methods of this class are synchronized, so the same instance can be set to several documents.
+ */
+public class LayoutStatistics implements ILayoutListener {
+
+    private static final int[] COLUMN_WIDTHS = {-24, 10, 10, 10, 10, 12, 12, 14, 8, 12};
+
+    private final Map<Class<?>, Entry> rendererClassStatistics = new LinkedHashMap<>();
+    // The model elements do not override equals, so the weak keys are compared by identity
+    private final Map<IPropertyContainer, Entry> elementStatistics = new WeakHashMap<>();
+    private final Set<IRenderer> laidOutRenderers = Collections.newSetFromMap(new WeakHashMap<IRenderer, Boolean>());
+
+    @Override
+    public synchronized void layoutPerformed(IRenderer renderer, LayoutContext layoutContext, LayoutResult result, long totalNanos, long selfNanos, long allocatedBytes) {
+        boolean relayout = !laidOutRenderers.add(renderer);
+        int status = result != null ? result.getStatus() : LayoutResult.NOTHING;
+        getEntry(rendererClassStatistics, renderer.getClass()).addLayout(relayout, status, totalNanos, selfNanos, allocatedBytes);
+        if (renderer.getModelElement() != null) {
+            getEntry(elementStatistics, renderer.getModelElement()).addLayout(relayout, status, totalNanos, selfNanos, allocatedBytes);
+        }
+    }
+
+    @Override
+    public synchronized void drawPerformed(IRenderer renderer, long totalNanos, long selfNanos, long allocatedBytes) {
+        getEntry(rendererClassStatistics, renderer.getClass()).addDraw(totalNanos, selfNanos, allocatedBytes);
+        if (renderer.getModelElement() != null) {
+            getEntry(elementStatistics, renderer.getModelElement()).addDraw(totalNanos, selfNanos, allocatedBytes);
+        }
+    }
+
+    /**
+     * Gets the statistics per renderer class.
+     *
+     * @return a snapshot of the statistics, mapped by the renderer class
+     */
+    public synchronized Map<Class<?>, Entry> getRendererClassStatistics() {
+        Map<Class<?>, Entry> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<Class<?>, Entry> entry : rendererClassStatistics.entrySet()) {
+            snapshot.put(entry.getKey(), new Entry(entry.getValue()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the statistics per model element. All the renderers of an element, e.g. the renderers
+     * of the parts of a split paragraph, are counted for the element.
+     * Only the elements which are still referenced elsewhere are included.
+     *
+     * @return a snapshot of the statistics, mapped by the model element, compared by identity
+     */
+    public synchronized Map<IPropertyContainer, Entry> getElementStatistics() {
+        Map<IPropertyContainer, Entry> snapshot = new IdentityHashMap<>();
+        for (Map.Entry<IPropertyContainer, Entry> entry : elementStatistics.entrySet()) {
+            snapshot.put(entry.getKey(), new Entry(entry.getValue()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Clears all the statistics.
+     */
+    public synchronized void reset() {
+        rendererClassStatistics.clear();
+        elementStatistics.clear();
+        laidOutRenderers.clear();
+    }
+
+    /**
+     * Returns the statistics per renderer class as a table, sorted by the layout self time.
+     *
+     * @return the statistics as a table
+     */
+    @Override
+    public synchronized String toString() {
+        List<Map.Entry<Class<?>, Entry>> entries = new ArrayList<>(rendererClassStatistics.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<Class<?>, Entry>>() {
+            @Override
+            public int compare(Map.Entry<Class<?>, Entry> o1, Map.Entry<Class<?>, Entry> o2) {
+                return Long.compare(o2.getValue().getLayoutSelfNanos(), o1.getValue().getLayoutSelfNanos());
+            }
+        });
+        StringBuilder sb = new StringBuilder();
+        appendRow(sb, "renderer", "layouts", "relayouts", "partial", "nothing", "total ms", "self ms", "allocated", "draws", "draw ms");
+        for (Map.Entry<Class<?>, Entry> entry : entries) {
+            Entry e = entry.getValue();
+            appendRow(sb, entry.getKey().getSimpleName(), formatCount(e.getLayoutCount()), formatCount(e.getRelayoutCount()),
+                    formatCount(e.getPartialCount()), formatCount(e.getNothingCount()), formatMillis(e.getLayoutTotalNanos()),
+                    formatMillis(e.getLayoutSelfNanos()), formatCount(e.getAllocatedBytes()), formatCount(e.getDrawCount()),
+                    formatMillis(e.getDrawTotalNanos()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends a row of the table, the first column is aligned to the left, the other ones to the right.
+     */
+    private static void appendRow(StringBuilder sb, String... cells) {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            int padding = Math.abs(COLUMN_WIDTHS[i]) - cells[i].length();
+            if (COLUMN_WIDTHS[i] < 0) {
+                sb.append(cells[i]);
+            }
+            for (int j = 0; j < padding; j++) {
+                sb.append(' ');
+            }
+            if (COLUMN_WIDTHS[i] > 0) {
+                sb.append(cells[i]);
+            }
+        }
+        sb.append('\n');
+    }
+
+    private static String formatCount(long count) {
+        return MessageFormatUtil.format("{0,number,#}", count);
+    }
+
+    private static String formatMillis(long nanos) {
+        return MessageFormatUtil.format("{0,number,0.000}", nanos / 1e6);
+    }
+
+    private static <K> Entry getEntry(Map<K, Entry> map, K key) {
+        Entry entry = map.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            map.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * The statistics of a renderer class or of a model element.
+     */
+    public static class Entry {
+        private int layoutCount;
+        private int relayoutCount;
+        private int partialCount;
+        private int nothingCount;
+        private long layoutTotalNanos;
+        private long layoutSelfNanos;
+        private int drawCount;
+        private long drawTotalNanos;
+        private long drawSelfNanos;
+        private long allocatedBytes;
+
+        Entry() {
+        }
+
+        Entry(Entry other) {
+            this.layoutCount = other.layoutCount;
+            this.relayoutCount = other.relayoutCount;
+            this.partialCount = other.partialCount;
+            this.nothingCount = other.nothingCount;
+            this.layoutTotalNanos = other.layoutTotalNanos;
+            this.layoutSelfNanos = other.layoutSelfNanos;
+            this.drawCount = other.drawCount;
+            this.drawTotalNanos = other.drawTotalNanos;
+            this.drawSelfNanos = other.drawSelfNanos;
+            this.allocatedBytes = other.allocatedBytes;
+        }
+
+        /**
+         * Gets the number of layout operations.
+         *
+         * @return the number of layout operations
+         */
+        public int getLayoutCount() {
+            return layoutCount;
+        }
+
+        /**
+         * Gets the number of layout operations of renderers which had already been laid out before,
+         * e.g. because of keep together, keep with next, min-max width calculation or rotation.
+         *
+         * @return the number of repeated layout operations
+         */
+        public int getRelayoutCount() {
+            return relayoutCount;
+        }
+
+        /**
+         * Gets the number of layout operations which resulted in {@link LayoutResult#PARTIAL},
+         * i.e. which split the content.
+         *
+         * @return the number of partial layout results
+         */
+        public int getPartialCount() {
+            return partialCount;
+        }
+
+        /**
+         * Gets the number of layout operations which resulted in {@link LayoutResult#NOTHING}.
+         *
+         * @return the number of nothing layout results
+         */
+        public int getNothingCount() {
+            return nothingCount;
+        }
+
+        /**
+         * Gets the time of the layout operations, including the child renderers.
+         * The time of nested operations is counted several times, e.g. for a {@link ParagraphRenderer}
+         * and for its {@link LineRenderer}s.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getLayoutTotalNanos() {
+            return layoutTotalNanos;
+        }
+
+        /**
+         * Gets the time of the layout operations, excluding the child renderers.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getLayoutSelfNanos() {
+            return layoutSelfNanos;
+        }
+
+        /**
+         * Gets the number of drawing operations.
+         *
+         * @return the number of drawing operations
+         */
+        public int getDrawCount() {
+            return drawCount;
+        }
+
+        /**
+         * Gets the time of the drawing operations, including the child renderers.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getDrawTotalNanos() {
+            return drawTotalNanos;
+        }
+
+        /**
+         * Gets the time of the drawing operations, excluding the child renderers.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getDrawSelfNanos() {
+            return drawSelfNanos;
+        }
+
+        /**
+         * Gets the number of bytes allocated by the layout and drawing operations, including the child renderers,
+         * or -1 if the JVM does not support measuring it.
+         *
+         * @return the number of allocated bytes
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        void addLayout(boolean relayout, int status, long totalNanos, long selfNanos, long allocatedBytes) {
+            layoutCount++;
+            if (relayout) {
+                relayoutCount++;
+            }
+            if (status == LayoutResult.PARTIAL) {
+                partialCount++;
+            } else if (status == LayoutResult.NOTHING) {
+                nothingCount++;
+            }
+            layoutTotalNanos += totalNanos;
+            layoutSelfNanos += selfNanos;
+            addAllocatedBytes(allocatedBytes);
+        }
+
+        void addDraw(long totalNanos, long selfNanos, long allocatedBytes) {
+            drawCount++;
+            drawTotalNanos += totalNanos;
+            drawSelfNanos += selfNanos;
+            addAllocatedBytes(allocatedBytes);
+        }
+
+        private void addAllocatedBytes(long allocatedBytes) {
+            if (allocatedBytes < 0 || this.allocatedBytes < 0) {
+                this.allocatedBytes = -1;
+            } else {
+                this.allocatedBytes += allocatedBytes;
+            }
+        }
+    }
+}
@@ -166,7 +166,7 @@ public class LineRenderer extends AbstractRenderer {
             } else if (childRenderer instanceof TabRenderer) {
                 if (hangingTabStop != null) {
                     IRenderer tabRenderer = childRenderers.get(childPos - 1);
-                    tabRenderer.layout(new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox), wasParentsHeightClipped));
+                    LayoutInstrumentation.layout(tabRenderer, new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox), wasParentsHeightClipped));
                     curWidth += tabRenderer.getOccupiedArea().getBBox().getWidth();
                     widthHandler.updateMaxChildWidth(tabRenderer.getOccupiedArea().getBBox().getWidth());
                 }
@@ -217,7 +217,7 @@ public class LineRenderer extends AbstractRenderer {
                 }
                 if (!lineLayoutContext.isFloatOverflowedToNextPageWithNothing() && floatsOverflowedToNextLine.isEmpty()
                         && (!anythingPlaced || floatingBoxFullWidth <= bbox.getWidth())) {
-                    childResult = childRenderer.layout(new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), layoutContext.getArea().getBBox().clone()), null, floatRendererAreas, wasParentsHeightClipped));
+                    childResult = LayoutInstrumentation.layout(childRenderer, new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), layoutContext.getArea().getBBox().clone()), null, floatRendererAreas, wasParentsHeightClipped));
                 }
                 // Get back child width so that it's not lost
                 if (childWidthWasReplaced) {
@@ -324,7 +324,7 @@ public class LineRenderer extends AbstractRenderer {
                     wasXOverflowChanged = true;
                     setProperty(Property.OVERFLOW_X, OverflowPropertyValue.FIT);
                 }
-                childResult = childRenderer.layout(new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox), wasParentsHeightClipped));
+                childResult = LayoutInstrumentation.layout(childRenderer, new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox), wasParentsHeightClipped));
                 if (childResult instanceof MinMaxWidthLayoutResult && null != childBlockMinMaxWidth) { // it means that we've already increased layout area by MIN_MAX_WIDTH_CORRECTION_EPS
                     MinMaxWidth childResultMinMaxWidth = ((MinMaxWidthLayoutResult) childResult).getMinMaxWidth();
                     childResultMinMaxWidth.setChildrenMaxWidth(childResultMinMaxWidth.getChildrenMaxWidth() + MIN_MAX_WIDTH_CORRECTION_EPS);
@@ -396,7 +396,7 @@ public class LineRenderer extends AbstractRenderer {
                 affectedRenderers.addAll(childRenderers.subList(lastTabIndex + 1, childPos + 1));
                 float tabWidth = calculateTab(layoutBox, curWidth, hangingTabStop, affectedRenderers, tabRenderer);
 
-                tabRenderer.layout(new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox), wasParentsHeightClipped));
+                LayoutInstrumentation.layout(tabRenderer, new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox), wasParentsHeightClipped));
                 float sumOfAffectedRendererWidths = 0;
                 for (IRenderer renderer : affectedRenderers) {
                     renderer.getOccupiedArea().getBBox().moveRight(tabWidth + sumOfAffectedRendererWidths);
@@ -434,7 +434,7 @@ public class LineRenderer extends AbstractRenderer {
                     if (wasXOverflowChanged) {
                         setProperty(Property.OVERFLOW_X, oldXOverflow);
                     }
-                    LayoutResult newLayoutResult = childRenderer.layout(new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), layoutBox), wasParentsHeightClipped));
+                    LayoutResult newLayoutResult = LayoutInstrumentation.layout(childRenderer, new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), layoutBox), wasParentsHeightClipped));
                     if (wasXOverflowChanged) {
                         setProperty(Property.OVERFLOW_X, OverflowPropertyValue.FIT);
                     }
@@ -895,7 +895,7 @@ public class LineRenderer extends AbstractRenderer {
 
     @Override
     protected MinMaxWidth getMinMaxWidth() {
-        LineLayoutResult result = (LineLayoutResult) layout(new LayoutContext(new LayoutArea(1, new Rectangle(MinMaxWidthUtils.getInfWidth(), AbstractRenderer.INF))));
+        LineLayoutResult result = (LineLayoutResult) LayoutInstrumentation.layout(this, new LayoutContext(new LayoutArea(1, new Rectangle(MinMaxWidthUtils.getInfWidth(), AbstractRenderer.INF))));
         return result.getMinMaxWidth();
     }
 
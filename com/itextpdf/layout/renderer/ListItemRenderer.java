@@ -191,7 +191,7 @@ public class ListItemRenderer extends DivRenderer {
 
             if (symbolRenderer.getOccupiedArea().getBBox().getRight() > parent.getOccupiedArea().getBBox().getLeft()) {
                 beginElementOpacityApplying(drawContext);
-                symbolRenderer.draw(drawContext);
+                LayoutInstrumentation.draw(symbolRenderer, drawContext);
                 endElementOpacityApplying(drawContext);
             }
         }
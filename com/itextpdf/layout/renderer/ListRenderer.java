@@ -315,7 +315,7 @@ public class ListRenderer extends BlockRenderer {
                         PdfFont actualPdfFont = ((AbstractRenderer) currentSymbolRenderer).resolveFirstPdfFont();
                         currentSymbolRenderer.setProperty(Property.FONT, actualPdfFont);
                     }
-                    listSymbolLayoutResult = currentSymbolRenderer.layout(layoutContext);
+                    listSymbolLayoutResult = LayoutInstrumentation.layout(currentSymbolRenderer, layoutContext);
                     currentSymbolRenderer.setParent(null);
                 }
                 childRenderers.get(i).setParent(null);
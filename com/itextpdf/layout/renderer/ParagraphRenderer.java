@@ -202,7 +202,7 @@ public class ParagraphRenderer extends BlockRenderer {
                     new LayoutArea(pageNumber, childLayoutBox), null, floatRendererAreas, wasHeightClipped || wasParentsHeightClipped)
                     .setTextIndent(lineIndent)
                     .setFloatOverflowedToNextPageWithNothing(floatOverflowedToNextPageWithNothing);
-            LineLayoutResult result = (LineLayoutResult)((LineRenderer) currentRenderer.setParent(this)).layout(lineLayoutContext);
+            LineLayoutResult result = (LineLayoutResult) LayoutInstrumentation.layout(currentRenderer.setParent(this), lineLayoutContext);
 
             if (result.getStatus() == LayoutResult.NOTHING) {
                 Float lineShiftUnderFloats = FloatingHelper.calculateLineShiftUnderFloats(floatRendererAreas, layoutBox);
@@ -527,7 +527,7 @@ public class ParagraphRenderer extends BlockRenderer {
     public void drawChildren(DrawContext drawContext) {
         if (lines != null) {
             for (LineRenderer line : lines) {
-                line.draw(drawContext);
+                LayoutInstrumentation.draw(line, drawContext);
             }
         }
     }
@@ -618,7 +618,7 @@ public class ParagraphRenderer extends BlockRenderer {
             if (minWidth == null || maxWidth == null) {
                 boolean restoreRotation = hasOwnProperty(Property.ROTATION_ANGLE);
                 setProperty(Property.ROTATION_ANGLE, null);
-                MinMaxWidthLayoutResult result = (MinMaxWidthLayoutResult) layout(new LayoutContext(new LayoutArea(1, new Rectangle(MinMaxWidthUtils.getInfWidth(), AbstractRenderer.INF))));
+                MinMaxWidthLayoutResult result = (MinMaxWidthLayoutResult) LayoutInstrumentation.layout(this, new LayoutContext(new LayoutArea(1, new Rectangle(MinMaxWidthUtils.getInfWidth(), AbstractRenderer.INF))));
                 if (restoreRotation) {
                     setProperty(Property.ROTATION_ANGLE, rotation);
                 } else {
@@ -0,0 +1,191 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.layout.ElementPropertyContainer;
+import com.itextpdf.layout.IPropertyContainer;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.property.PropertyMap;
+
+import java.util.Map;
+
+/**
+ * The result of a full layout of a renderer, together with the state the renderer and its surroundings
+ * had after that layout. If the renderer is laid out again with the same {@link LayoutContext}
+ * and nothing has changed in the meantime, including the properties of its model element and of its ancestors,
+ * the result is returned instead of performing the layout again, e.g. when the min-max width of the same element
+ * is calculated several times.
+ * <p>
+ * Only the results of {@link LayoutResult#FULL} layouts with a plain {@link LayoutContext},
+ * without margins collapsing and floats, are reused.
+ */
+final class ReusableLayoutResult {
+
+    private final LayoutResult result;
+    private final int pageNumber;
+    private final Rectangle area;
+    private final boolean clippedHeight;
+    private final IRenderer parent;
+    private final LayoutArea occupiedArea;
+    private final Rectangle occupiedBBox;
+    private final Rectangle resultOccupiedBBox;
+    private final LayoutArea parentOccupiedArea;
+    private final Rectangle parentOccupiedBBox;
+    private final long propertiesModificationCount;
+    private final int childRenderersCount;
+    private final boolean firstOnRootArea;
+    private final boolean firstOnRootAreaOnly;
+
+    private ReusableLayoutResult(AbstractRenderer renderer, LayoutContext layoutContext, LayoutResult result) {
+        this.result = result;
+        this.pageNumber = layoutContext.getArea().getPageNumber();
+        this.area = layoutContext.getArea().getBBox().clone();
+        this.clippedHeight = layoutContext.isClippedHeight();
+        this.parent = renderer.getParent();
+        this.occupiedArea = renderer.getOccupiedArea();
+        this.occupiedBBox = occupiedArea.getBBox().clone();
+        this.resultOccupiedBBox = result.getOccupiedArea() != null ? result.getOccupiedArea().getBBox().clone() : null;
+        this.parentOccupiedArea = getParentOccupiedArea(parent);
+        this.parentOccupiedBBox = parentOccupiedArea != null ? parentOccupiedArea.getBBox().clone() : null;
+        this.propertiesModificationCount = getPropertiesModificationCount(renderer);
+        this.childRenderersCount = renderer.getChildRenderers().size();
+        this.firstOnRootArea = renderer.isFirstOnRootArea(false);
+        this.firstOnRootAreaOnly = renderer.isFirstOnRootArea(true);
+    }
+
+    /**
+     * Creates a reusable result for the layout which has just been performed, if the layout can be reused.
+     *
+     * @param renderer      the renderer which has been laid out
+     * @param layoutContext the layout context of the layout
+     * @param result        the result of the layout
+     * @return the reusable result, or null if the layout cannot be reused
+     */
+    static ReusableLayoutResult create(AbstractRenderer renderer, LayoutContext layoutContext, LayoutResult result) {
+        if (result == null || result.getStatus() != LayoutResult.FULL || renderer.getOccupiedArea() == null
+                || layoutContext.getClass() != LayoutContext.class || layoutContext.getMarginsCollapseInfo() != null
+                || !layoutContext.getFloatRendererAreas().isEmpty() || getPropertiesModificationCount(renderer) < 0) {
+            return null;
+        }
+        return new ReusableLayoutResult(renderer, layoutContext, result);
+    }
+
+    /**
+     * Gets the result of the layout.
+     *
+     * @return the result of the layout
+     */
+    LayoutResult getResult() {
+        return result;
+    }
+
+    /**
+     * Checks whether the result can be returned for the layout of the renderer with the given context,
+     * i.e. whether the context is the same and neither the renderer nor its surroundings have changed.
+     *
+     * @param renderer      the renderer which is going to be laid out
+     * @param layoutContext the layout context
+     * @return true if the result can be reused
+     */
+    boolean isReusableFor(AbstractRenderer renderer, LayoutContext layoutContext) {
+        LayoutArea layoutArea = layoutContext.getArea();
+        return layoutContext.getClass() == LayoutContext.class
+                && layoutContext.getMarginsCollapseInfo() == null
+                && layoutContext.getFloatRendererAreas().isEmpty()
+                && clippedHeight == layoutContext.isClippedHeight()
+                && pageNumber == layoutArea.getPageNumber()
+                && equals(area, layoutArea.getBBox())
+                && parent == renderer.getParent()
+                && occupiedArea == renderer.getOccupiedArea()
+                && equals(occupiedBBox, occupiedArea.getBBox())
+                && (resultOccupiedBBox == null || equals(resultOccupiedBBox, result.getOccupiedArea().getBBox()))
+                && parentOccupiedArea == getParentOccupiedArea(parent)
+                && (parentOccupiedArea == null || equals(parentOccupiedBBox, parentOccupiedArea.getBBox()))
+                && propertiesModificationCount == getPropertiesModificationCount(renderer)
+                && childRenderersCount == renderer.getChildRenderers().size()
+                && firstOnRootArea == renderer.isFirstOnRootArea(false)
+                && firstOnRootAreaOnly == renderer.isFirstOnRootArea(true);
+    }
+
+    private static LayoutArea getParentOccupiedArea(IRenderer parent) {
+        // the state of the root renderer is checked by isFirstOnRootArea
+        return parent == null || parent instanceof RootRenderer ? null : parent.getOccupiedArea();
+    }
+
+    /**
+     * Gets the total number of modifications of the properties the layout of the renderer may depend on:
+     * the properties of the renderer and of its ancestors, and of their model elements. As the numbers
+     * only grow, the total does not change only if none of the properties have been modified.
+     *
+     * @return the number of modifications, or -1 if the properties of some renderer or element cannot be checked
+     */
+    private static long getPropertiesModificationCount(AbstractRenderer renderer) {
+        long count = 0;
+        IRenderer currentRenderer = renderer;
+        while (currentRenderer != null) {
+            IPropertyContainer modelElement = currentRenderer.getModelElement();
+            if (!(currentRenderer instanceof AbstractRenderer)
+                    || (modelElement != null && !(modelElement instanceof ElementPropertyContainer))) {
+                return -1;
+            }
+            Map<Integer, Object> properties = ((AbstractRenderer) currentRenderer).properties;
+            int modelElementCount = modelElement != null
+                    ? ((ElementPropertyContainer<?>) modelElement).getPropertiesModificationCount() : 0;
+            if (!(properties instanceof PropertyMap) || modelElementCount < 0) {
+                return -1;
+            }
+            count += ((PropertyMap) properties).getModificationCount() + modelElementCount;
+            currentRenderer = currentRenderer.getParent();
+        }
+        return count;
+    }
+
+    private static boolean equals(Rectangle rect1, Rectangle rect2) {
+        return rect1.getX() == rect2.getX() && rect1.getY() == rect2.getY()
+                && rect1.getWidth() == rect2.getWidth() && rect1.getHeight() == rect2.getHeight();
+    }
+}
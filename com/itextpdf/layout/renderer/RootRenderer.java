@@ -76,6 +76,8 @@ public abstract class RootRenderer extends AbstractRenderer {
     private List<Rectangle> floatRendererAreas;
     private List<IRenderer> waitingNextPageRenderers = new ArrayList<>();
     private boolean floatOverflowedCompletely = false;
+    private ILayoutListener layoutListener;
+    int layoutResultReuseCount;
 
     public void addChild(IRenderer renderer) {
         LayoutTaggingHelper taggingHelper = this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER);
@@ -130,8 +132,8 @@ public abstract class RootRenderer extends AbstractRenderer {
                 childMarginsInfo = marginsCollapseHandler.startChildMarginsHandling(renderer, currentArea.getBBox());
             }
             while (clearanceOverflowsToNextPage || currentArea != null && renderer != null
-                        && (result = renderer.setParent(this)
-                            .layout(new LayoutContext(currentArea.clone(), childMarginsInfo, floatRendererAreas))).getStatus() != LayoutResult.FULL) {
+                        && (result = LayoutInstrumentation.layout(renderer.setParent(this),
+                            new LayoutContext(currentArea.clone(), childMarginsInfo, floatRendererAreas))).getStatus() != LayoutResult.FULL) {
                 boolean currentAreaNeedsToBeUpdated = false;
                 if (clearanceOverflowsToNextPage) {
                     result = new LayoutResult(LayoutResult.NOTHING, null, null, renderer);
@@ -284,7 +286,7 @@ public abstract class RootRenderer extends AbstractRenderer {
             }
             Rectangle fullBbox = layoutArea.getBBox().clone();
             preparePositionedRendererAndAreaForLayout(renderer, fullBbox, layoutArea.getBBox());
-            renderer.layout(new PositionedLayoutContext(new LayoutArea(layoutArea.getPageNumber(), fullBbox), layoutArea));
+            LayoutInstrumentation.layout(renderer, new PositionedLayoutContext(new LayoutArea(layoutArea.getPageNumber(), fullBbox), layoutArea));
 
             if (immediateFlush) {
                 flushSingleRenderer(renderer);
@@ -340,6 +342,40 @@ public abstract class RootRenderer extends AbstractRenderer {
         throw new IllegalStateException("Layout is not supported for root renderers.");
     }
 
+    /**
+     * Sets the listener which is notified about the layout and drawing operations of the renderers
+     * of this root renderer, e.g. to collect {@link LayoutStatistics}.
+     * The listener is only notified about the content added after it has been set.
+     *
+     * @param layoutListener the listener, or null to stop the notifications
+     */
+    public void setLayoutListener(ILayoutListener layoutListener) {
+        this.layoutListener = layoutListener;
+        if (layoutListener != null) {
+            LayoutInstrumentation.onListenerSet();
+        }
+    }
+
+    /**
+     * Gets the listener which is notified about the layout and drawing operations of the renderers
+     * of this root renderer.
+     *
+     * @return the listener, or null if none is set
+     */
+    public ILayoutListener getLayoutListener() {
+        return layoutListener;
+    }
+
+    /**
+     * Gets the number of times a renderer of this root renderer was laid out again with the same context
+     * after a full layout, and the previous layout result was reused instead of performing the layout again.
+     *
+     * @return the number of reused layout results
+     */
+    public int getLayoutResultReuseCount() {
+        return layoutResultReuseCount;
+    }
+
     public LayoutArea getCurrentArea() {
         if (currentArea == null) {
             updateCurrentAndInitialArea(null);
@@ -388,7 +424,7 @@ public abstract class RootRenderer extends AbstractRenderer {
             LayoutArea rest = currentArea.clone();
             rest.getBBox().setHeight(rest.getBBox().getHeight() - keepWithNextHangingRendererLayoutResult.getOccupiedArea().getBBox().getHeight());
             boolean ableToProcessKeepWithNext = false;
-            if (renderer.setParent(this).layout(new LayoutContext(rest)).getStatus() != LayoutResult.NOTHING) {
+            if (LayoutInstrumentation.layout(renderer.setParent(this), new LayoutContext(rest)).getStatus() != LayoutResult.NOTHING) {
                 // The area break will not be introduced and we are safe to place everything as is
                 shrinkCurrentAreaAndProcessRenderer(keepWithNextHangingRenderer, new ArrayList<IRenderer>(), keepWithNextHangingRendererLayoutResult);
                 ableToProcessKeepWithNext = true;
@@ -404,15 +440,15 @@ public abstract class RootRenderer extends AbstractRenderer {
                     RootLayoutArea firstElementSplitLayoutArea = (RootLayoutArea) currentArea.clone();
                     firstElementSplitLayoutArea.getBBox().setHeight(curElementSplitHeight).
                             moveUp(currentArea.getBBox().getHeight() - curElementSplitHeight);
-                    LayoutResult firstElementSplitLayoutResult = keepWithNextHangingRenderer.setParent(this).layout(new LayoutContext(firstElementSplitLayoutArea.clone()));
+                    LayoutResult firstElementSplitLayoutResult = LayoutInstrumentation.layout(keepWithNextHangingRenderer.setParent(this), new LayoutContext(firstElementSplitLayoutArea.clone()));
                     if (firstElementSplitLayoutResult.getStatus() == LayoutResult.PARTIAL) {
                         RootLayoutArea storedArea = currentArea;
                         updateCurrentAndInitialArea(firstElementSplitLayoutResult);
-                        LayoutResult firstElementOverflowLayoutResult = firstElementSplitLayoutResult.getOverflowRenderer().layout(new LayoutContext(currentArea.clone()));
+                        LayoutResult firstElementOverflowLayoutResult = LayoutInstrumentation.layout(firstElementSplitLayoutResult.getOverflowRenderer(), new LayoutContext(currentArea.clone()));
                         if (firstElementOverflowLayoutResult.getStatus() == LayoutResult.FULL) {
                             LayoutArea secondElementLayoutArea = currentArea.clone();
                             secondElementLayoutArea.getBBox().setHeight(secondElementLayoutArea.getBBox().getHeight() - firstElementOverflowLayoutResult.getOccupiedArea().getBBox().getHeight());
-                            LayoutResult secondElementLayoutResult = renderer.setParent(this).layout(new LayoutContext(secondElementLayoutArea));
+                            LayoutResult secondElementLayoutResult = LayoutInstrumentation.layout(renderer.setParent(this), new LayoutContext(secondElementLayoutArea));
                             if (secondElementLayoutResult.getStatus() != LayoutResult.NOTHING) {
                                 ableToProcessKeepWithNext = true;
 
@@ -433,11 +469,11 @@ public abstract class RootRenderer extends AbstractRenderer {
             if (!ableToProcessKeepWithNext && !currentArea.isEmptyArea()) {
                 RootLayoutArea storedArea = currentArea;
                 updateCurrentAndInitialArea(null);
-                LayoutResult firstElementLayoutResult = keepWithNextHangingRenderer.setParent(this).layout(new LayoutContext(currentArea.clone()));
+                LayoutResult firstElementLayoutResult = LayoutInstrumentation.layout(keepWithNextHangingRenderer.setParent(this), new LayoutContext(currentArea.clone()));
                 if (firstElementLayoutResult.getStatus() == LayoutResult.FULL) {
                     LayoutArea secondElementLayoutArea = currentArea.clone();
                     secondElementLayoutArea.getBBox().setHeight(secondElementLayoutArea.getBBox().getHeight() - firstElementLayoutResult.getOccupiedArea().getBBox().getHeight());
-                    LayoutResult secondElementLayoutResult = renderer.setParent(this).layout(new LayoutContext(secondElementLayoutArea));
+                    LayoutResult secondElementLayoutResult = LayoutInstrumentation.layout(renderer.setParent(this), new LayoutContext(secondElementLayoutArea));
                     if (secondElementLayoutResult.getStatus() != LayoutResult.NOTHING) {
                         ableToProcessKeepWithNext = true;
                         shrinkCurrentAreaAndProcessRenderer(keepWithNextHangingRenderer, new ArrayList<IRenderer>(), keepWithNextHangingRendererLayoutResult);
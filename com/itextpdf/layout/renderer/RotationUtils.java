@@ -76,7 +76,7 @@ final class RotationUtils {
             float angle = (float) rotation;
             //This width results in more accurate values for min-width calculations.
             float layoutWidth = minMaxWidth.getMaxWidth() + MinMaxWidthUtils.getEps();
-            LayoutResult layoutResult = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(layoutWidth, AbstractRenderer.INF))));
+            LayoutResult layoutResult = LayoutInstrumentation.layout(renderer, new LayoutContext(new LayoutArea(1, new Rectangle(layoutWidth, AbstractRenderer.INF))));
             if (layoutResult.getOccupiedArea() != null) {
                 Rectangle layoutBBox = layoutResult.getOccupiedArea().getBBox();
                 if (MinMaxWidthUtils.isEqual(minMaxWidth.getMinWidth(), minMaxWidth.getMaxWidth())) {
@@ -130,7 +130,7 @@ final class RotationUtils {
             MinMaxWidth minMaxWidth = renderer.getMinMaxWidth();
             //Using this width for initial layout helps in case of small elements. They may have more free spaces but it's more likely they fit.
             float length = (minMaxWidth.getMaxWidth() + minMaxWidth.getMinWidth()) / 2 + MinMaxWidthUtils.getEps();
-            LayoutResult layoutResult = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(length, AbstractRenderer.INF))));
+            LayoutResult layoutResult = LayoutInstrumentation.layout(renderer, new LayoutContext(new LayoutArea(1, new Rectangle(length, AbstractRenderer.INF))));
             backup.restoreProperty(Property.HEIGHT);
             backup.restoreProperty(Property.MIN_HEIGHT);
             backup.restoreProperty(Property.MAX_HEIGHT);
@@ -162,7 +162,7 @@ final class RotationUtils {
         if (MinMaxWidthUtils.isEqual(availableWidth, previousBBox.getWidth())) {
             return (float) RotationMinMaxWidth.calculateRotatedWidth(previousBBox, angle);
         }
-        LayoutResult result = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(availableWidth + MinMaxWidthUtils.getEps(), AbstractRenderer.INF))));
+        LayoutResult result = LayoutInstrumentation.layout(renderer, new LayoutContext(new LayoutArea(1, new Rectangle(availableWidth + MinMaxWidthUtils.getEps(), AbstractRenderer.INF))));
         if (result.getOccupiedArea() != null) {
             return (float) RotationMinMaxWidth.calculateRotatedWidth(result.getOccupiedArea().getBBox(), angle);
         }
@@ -374,7 +374,7 @@ public class TableRenderer extends AbstractRenderer {
                 headerRenderer.bordersHandler.collapseTableWithFooter(footerRenderer.bordersHandler, false);
             }
 
-            LayoutResult result = footerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox), wasHeightClipped || wasParentsHeightClipped));
+            LayoutResult result = LayoutInstrumentation.layout(footerRenderer, new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox), wasHeightClipped || wasParentsHeightClipped));
             if (result.getStatus() != LayoutResult.FULL) {
                 // we've changed it during footer initialization. However, now we need to process borders again as they were.
                 deleteOwnProperty(Property.BORDER_BOTTOM);
@@ -406,7 +406,7 @@ public class TableRenderer extends AbstractRenderer {
                 footerRenderer.bordersHandler.collapseTableWithHeader(headerRenderer.bordersHandler, true);
             }
             topBorderMaxWidth = bordersHandler.getMaxTopWidth(); // first row own top border. We will use it while header processing
-            LayoutResult result = headerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox), wasHeightClipped || wasParentsHeightClipped));
+            LayoutResult result = LayoutInstrumentation.layout(headerRenderer, new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox), wasHeightClipped || wasParentsHeightClipped));
             if (result.getStatus() != LayoutResult.FULL) {
                 // we've changed it during header initialization. However, now we need to process borders again as they were.
                 deleteOwnProperty(Property.BORDER_TOP);
@@ -537,7 +537,7 @@ public class TableRenderer extends AbstractRenderer {
                     LayoutTaggingHelper.addTreeHints(taggingHelper, cell);
                 }
 
-                LayoutResult cellResult = cell.setParent(this).layout(new LayoutContext(cellArea, null, childFloatRendererAreas, wasHeightClipped || wasParentsHeightClipped));
+                LayoutResult cellResult = LayoutInstrumentation.layout(cell.setParent(this), new LayoutContext(cellArea, null, childFloatRendererAreas, wasHeightClipped || wasParentsHeightClipped));
 
                 cell.setProperty(Property.VERTICAL_ALIGNMENT, verticalAlignment);
                 // width of BlockRenderer depends on child areas, while in cell case it is hardly define.
@@ -611,7 +611,7 @@ public class TableRenderer extends AbstractRenderer {
                                 int savedStartRow = overflowRenderer.bordersHandler.startRow;
                                 overflowRenderer.bordersHandler.setStartRow(row);
                                 prepareFooterOrHeaderRendererForLayout(overflowRenderer, potentialArea.getBBox().getWidth());
-                                LayoutResult res = overflowRenderer.layout(new LayoutContext(potentialArea, wasHeightClipped || wasParentsHeightClipped));
+                                LayoutResult res = LayoutInstrumentation.layout(overflowRenderer, new LayoutContext(potentialArea, wasHeightClipped || wasParentsHeightClipped));
                                 bordersHandler.setStartRow(savedStartRow);
                                 if (LayoutResult.FULL == res.getStatus()) {
                                     if (taggingHelper != null) {
@@ -724,7 +724,7 @@ public class TableRenderer extends AbstractRenderer {
                     if (bordersHandler instanceof CollapsedTableBorders) {
                         footerRenderer.setBorders(CollapsedTableBorders.getCollapsedBorder(footerRenderer.getBorders()[2], getBorders()[2]), 2);
                     }
-                    footerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox), wasHeightClipped || wasParentsHeightClipped));
+                    LayoutInstrumentation.layout(footerRenderer, new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox), wasHeightClipped || wasParentsHeightClipped));
                     bordersHandler.applyLeftAndRightTableBorder(layoutBox, false);
                     float footerHeight = footerRenderer.getOccupiedAreaBBox().getHeight();
                     footerRenderer.move(0, -(layoutBox.getHeight() - footerHeight));
@@ -972,7 +972,7 @@ public class TableRenderer extends AbstractRenderer {
                 headerRenderer.bordersHandler.collapseTableWithFooter(footerRenderer.bordersHandler, true);
             }
 
-            footerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox), wasHeightClipped || wasParentsHeightClipped));
+            LayoutInstrumentation.layout(footerRenderer, new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox), wasHeightClipped || wasParentsHeightClipped));
             bordersHandler.applyLeftAndRightTableBorder(layoutBox, false);
 
             float footerHeight = footerRenderer.getOccupiedAreaBBox().getHeight();
@@ -1139,11 +1139,11 @@ public class TableRenderer extends AbstractRenderer {
     @Override
     public void drawChildren(DrawContext drawContext) {
         if (headerRenderer != null) {
-            headerRenderer.draw(drawContext);
+            LayoutInstrumentation.draw(headerRenderer, drawContext);
         }
 
         for (IRenderer child : childRenderers) {
-            child.draw(drawContext);
+            LayoutInstrumentation.draw(child, drawContext);
         }
 
         if (bordersHandler instanceof CollapsedTableBorders) {
@@ -1151,7 +1151,7 @@ public class TableRenderer extends AbstractRenderer {
         }
 
         if (footerRenderer != null) {
-            footerRenderer.draw(drawContext);
+            LayoutInstrumentation.draw(footerRenderer, drawContext);
         }
     }
 
@@ -1778,8 +1778,20 @@ public class TableRenderer extends AbstractRenderer {
      */
     private void calculateColumnWidths(float availableWidth) {
         if (countedColumnWidth == null || totalWidthForColumns != availableWidth) {
-            TableWidths tableWidths = new TableWidths(this, availableWidth, false, bordersHandler.rightBorderMaxWidth, bordersHandler.leftBorderMaxWidth);
-            countedColumnWidth = tableWidths.layout();
+            Table table = getTable();
+            // the parts of a large table flushed after the first one keep the columns of the sampled rows,
+            // as long as they are laid out for the same width
+            boolean isLargeTable = !table.isComplete() || 0 != table.getLastRowBottomBorder().size();
+            float[] sampledColumnWidths = isLargeTable ? table.getSampledColumnWidths(availableWidth) : null;
+            if (sampledColumnWidths != null) {
+                countedColumnWidth = sampledColumnWidths;
+            } else {
+                TableWidths tableWidths = new TableWidths(this, availableWidth, false, bordersHandler.rightBorderMaxWidth, bordersHandler.leftBorderMaxWidth);
+                countedColumnWidth = tableWidths.layout();
+                if (isLargeTable && tableWidths.isSampled()) {
+                    table.setSampledColumnWidths(countedColumnWidth, availableWidth);
+                }
+            }
         }
     }
 
@@ -68,6 +68,8 @@ final class TableWidths {
     private final float leftBorderMaxWidth;
     private final ColumnWidthData[] widths;
     private final float horizontalBorderSpacing;
+    // the number of body rows measured by the auto layout, null if all the rows are measured
+    private final Integer sampleRows;
     private List<CellInfo> cells;
 
     private float tableWidth;
@@ -90,6 +92,7 @@ final class TableWidths {
         } else {
             horizontalBorderSpacing = 0;
         }
+        this.sampleRows = tableRenderer.<Integer>getProperty(Property.TABLE_LAYOUT_SAMPLE_ROWS);
         calculateTableWidth(availableWidth, calculateTableMaxWidth);
     }
 
@@ -97,6 +100,10 @@ final class TableWidths {
         return fixedTableLayout;
     }
 
+    boolean isSampled() {
+        return !fixedTableLayout && sampleRows != null;
+    }
+
     float[] layout() {
         if (hasFixedLayout()) {
             return fixedLayout();
@@ -110,7 +117,7 @@ final class TableWidths {
     }
 
     float[] autoLayout() {
-        assert tableRenderer.getTable().isComplete();
+        assert tableRenderer.getTable().isComplete() || sampleRows != null;
         fillAndSortCells();
         calculateMinMaxWidths();
 
@@ -683,7 +690,11 @@ final class TableWidths {
     }
 
     private void fillRendererCells(TableRenderer renderer, byte region) {
-        for (int row = 0; row < renderer.rows.size(); row++) {
+        int rowsToMeasure = renderer.rows.size();
+        if (region == CellInfo.BODY && sampleRows != null) {
+            rowsToMeasure = Math.min(rowsToMeasure, (int) sampleRows);
+        }
+        for (int row = 0; row < rowsToMeasure; row++) {
             for (int col = 0; col < numberOfColumns; col++) {
                 CellRenderer cell = renderer.rows.get(row)[col];
                 if (cell != null) {
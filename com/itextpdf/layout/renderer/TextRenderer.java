@@ -90,6 +90,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
@@ -118,6 +119,13 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
 
     protected boolean otfFeaturesApplied = false;
 
+    // the string the text has just been converted from, while the text is still unshaped and unmodified
+    private String unshapedText;
+
+    // whether the special whitespace glyphs of the text have been replaced. The split renderers share the glyphs
+    // of the text, so they do not need to check the whole text again, which is quadratic for long texts
+    private boolean specialWhitespaceGlyphsReplaced;
+
     protected float tabAnchorCharacterPosition = -1;
 
     protected List<int[]> reversedRanges;
@@ -153,6 +161,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         this.yLineOffset = other.yLineOffset;
         this.strToBeConverted = other.strToBeConverted;
         this.otfFeaturesApplied = other.otfFeaturesApplied;
+        this.specialWhitespaceGlyphsReplaced = other.specialWhitespaceGlyphsReplaced;
         this.tabAnchorCharacterPosition = other.tabAnchorCharacterPosition;
         this.reversedRanges = other.reversedRanges;
     }
@@ -160,9 +169,11 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
     @Override
     public LayoutResult layout(LayoutContext layoutContext) {
         updateFontAndText();
-        if (null != text) {
+        if (null != text && !specialWhitespaceGlyphsReplaced) {
             // if text != null => font != null
             text = replaceSpecialWhitespaceGlyphs(text, font);
+            specialWhitespaceGlyphsReplaced = true;
+            unshapedText = null;
         }
 
         LayoutArea area = layoutContext.getArea();
@@ -558,8 +569,23 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         updateFontAndText();
         Character.UnicodeScript script = this.<Character.UnicodeScript>getProperty(Property.FONT_SCRIPT);
         if (!otfFeaturesApplied && TypographyUtils.isTypographyModuleInitialized() && text.start < text.end) {
+            Object typographyConfig = this.<Object>getProperty(Property.TYPOGRAPHY_CONFIG);
+            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
+            Object shapingFeatures = null;
+            if (unshapedText != null && text.start == 0 && text.end == text.size()) {
+                shapingFeatures = Arrays.asList(script, typographyConfig, fontKerning);
+                GlyphLine shapedText = font.getCachedGlyphLine(unshapedText, shapingFeatures);
+                if (shapedText != null) {
+                    text = shapedText;
+                    unshapedText = null;
+                    otfFeaturesApplied = true;
+                    specialWhitespaceGlyphsReplaced = false;
+                    return;
+                }
+            }
+            // shaped lines are not cached if shaping has also changed the base direction of the renderer
+            boolean baseDirectionChanged = false;
             if (hasOtfFont()) {
-                Object typographyConfig = this.<Object>getProperty(Property.TYPOGRAPHY_CONFIG);
                 Collection<Character.UnicodeScript> supportedScripts = null;
         	    if (typographyConfig != null) {
     	            supportedScripts = TypographyUtils.getSupportedScripts(typographyConfig);
@@ -614,6 +640,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                         // Only if it's not found there first, LineRenderer tries to fetch autodetected BaseDirection
                         // from text renderers (see LineRenderer#applyOtf).
                         setProperty(Property.BASE_DIRECTION, BaseDirection.DEFAULT_BIDI);
+                        baseDirectionChanged = true;
                     }
                     TypographyUtils.applyOtfScript(font.getFontProgram(), text, scriptsRange.script, typographyConfig);
 
@@ -624,12 +651,16 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                 text.end = origTextEnd + delta;
             }
 
-            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
             if (fontKerning == FontKerning.YES) {
                 TypographyUtils.applyKerning(font.getFontProgram(), text);
             }
 
+            if (shapingFeatures != null && !baseDirectionChanged) {
+                font.cacheGlyphLine(unshapedText, shapingFeatures, text);
+            }
+            unshapedText = null;
             otfFeaturesApplied = true;
+            specialWhitespaceGlyphsReplaced = false;
         }
     }
 
@@ -982,10 +1013,12 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
      */
     public void setText(GlyphLine text, int leftPos, int rightPos) {
         this.strToBeConverted = null;
+        this.unshapedText = null;
         this.text = new GlyphLine(text);
         this.text.start = leftPos;
         this.text.end = rightPos;
         this.otfFeaturesApplied = false;
+        this.specialWhitespaceGlyphsReplaced = false;
     }
 
     public GlyphLine getText() {
@@ -1066,7 +1099,12 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
     }
 
     private GlyphLine convertToGlyphLine(String text) {
-        return font.createGlyphLine(text);
+        GlyphLine glyphLine = font.getCachedGlyphLine(text, null);
+        if (glyphLine == null) {
+            glyphLine = font.createGlyphLine(text);
+            font.cacheGlyphLine(text, null, glyphLine);
+        }
+        return glyphLine;
     }
 
     private boolean hasOtfFont() {
@@ -1105,7 +1143,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
 
     @Override
     protected MinMaxWidth getMinMaxWidth() {
-        TextLayoutResult result = (TextLayoutResult) layout(new LayoutContext(new LayoutArea(1, new Rectangle(MinMaxWidthUtils.getInfWidth(), AbstractRenderer.INF))));
+        TextLayoutResult result = (TextLayoutResult) LayoutInstrumentation.layout(this, new LayoutContext(new LayoutArea(1, new Rectangle(MinMaxWidthUtils.getInfWidth(), AbstractRenderer.INF))));
         return result.getMinMaxWidth();
     }
 
@@ -1139,6 +1177,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         splitRenderer.parent = parent;
         splitRenderer.yLineOffset = yLineOffset;
         splitRenderer.otfFeaturesApplied = otfFeaturesApplied;
+        splitRenderer.specialWhitespaceGlyphsReplaced = specialWhitespaceGlyphsReplaced;
         splitRenderer.isLastRendererForModelElement = false;
         splitRenderer.addAllProperties(getOwnProperties());
 
@@ -1146,6 +1185,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         overflowRenderer.setText(text, initialOverflowTextPos, text.end);
         overflowRenderer.font = font;
         overflowRenderer.otfFeaturesApplied = otfFeaturesApplied;
+        overflowRenderer.specialWhitespaceGlyphsReplaced = specialWhitespaceGlyphsReplaced;
         overflowRenderer.parent = parent;
         overflowRenderer.addAllProperties(getOwnProperties());
 
@@ -1227,7 +1267,9 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         this.text = gl;
         this.font = font;
         this.otfFeaturesApplied = false;
+        this.specialWhitespaceGlyphsReplaced = false;
         this.strToBeConverted = null;
+        this.unshapedText = null;
         setProperty(Property.FONT, font);
     }
 
@@ -1362,6 +1404,8 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
             }
             text = convertToGlyphLine(strToBeConverted);
             otfFeaturesApplied = false;
+            specialWhitespaceGlyphsReplaced = false;
+            unshapedText = strToBeConverted;
             strToBeConverted = null;
         }
     }